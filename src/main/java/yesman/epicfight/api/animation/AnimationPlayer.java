@@ -1,5 +1,6 @@
 package yesman.epicfight.api.animation;
 
+import yesman.epicfight.api.animation.property.AnimationEventTable;
 import yesman.epicfight.api.animation.property.AnimationProperty.PlaySpeedModifier;
 import yesman.epicfight.api.animation.property.AnimationProperty.StaticAnimationProperty;
 import yesman.epicfight.api.animation.types.DynamicAnimation;
@@ -13,6 +14,7 @@ public class AnimationPlayer {
 	private boolean isEnd;
 	private boolean doNotResetNext;
 	private boolean reversed;
+	private int eventCursor = -1;
 	private DynamicAnimation play;
 	
 	public AnimationPlayer() {
@@ -23,7 +25,7 @@ public class AnimationPlayer {
 		this.prevElapsedTime = this.elapsedTime;
 		
 		float playbackSpeed = this.getAnimation().getPlaySpeed(entitypatch);
-		PlaySpeedModifier playSpeedModifier = this.getAnimation().getRealAnimation().getProperty(StaticAnimationProperty.PLAY_SPEED_MODIFIER).orElse(null);
+		PlaySpeedModifier playSpeedModifier = this.getAnimation().getRealAnimation().getPropertyOrDefault(StaticAnimationProperty.PLAY_SPEED_MODIFIER, null);
 		
 		if (playSpeedModifier != null) {
 			playbackSpeed = playSpeedModifier.modify(this.getAnimation(), entitypatch, playbackSpeed, this.elapsedTime);
@@ -54,6 +56,7 @@ public class AnimationPlayer {
 		this.elapsedTime = 0;
 		this.prevElapsedTime = 0;
 		this.isEnd = false;
+		this.eventCursor = -1;
 	}
 	
 	public void setPlayAnimation(DynamicAnimation animation) {
@@ -107,6 +110,15 @@ public class AnimationPlayer {
 		return this.isEnd;
 	}
 	
+	/** Index of the next time stamped event of the playing animation, see {@link AnimationEventTable} **/
+	public int getEventCursor() {
+		return this.eventCursor;
+	}
+	
+	public void setEventCursor(int eventCursor) {
+		this.eventCursor = eventCursor;
+	}
+	
 	public boolean isReversed() {
 		return this.reversed;
 	}
@@ -0,0 +1,126 @@
+package yesman.epicfight.api.animation.property;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import yesman.epicfight.api.animation.AnimationPlayer;
+import yesman.epicfight.api.animation.property.AnimationEvent.TimePeriodEvent;
+import yesman.epicfight.api.animation.property.AnimationEvent.TimeStampedEvent;
+import yesman.epicfight.api.animation.types.StaticAnimation;
+import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
+
+/**
+ * Events of an animation split by execution side, time stamped events sorted by time and time period events by start.
+ * Time stamped events are visited from a cursor kept in the {@link AnimationPlayer}, so a tick in which no event fires reads one time stamp.
+ */
+public class AnimationEventTable {
+	public static final AnimationEventTable EMPTY = new AnimationEventTable(null, null, null);
+	
+	private final AnimationEvent[] events;
+	private final TimeStampedEvent[] timeStampedEvents;
+	private final TimePeriodEvent[] timePeriodEvents;
+	private final SideTable client;
+	private final SideTable server;
+	
+	public AnimationEventTable(AnimationEvent[] events, TimeStampedEvent[] timeStampedEvents, TimePeriodEvent[] timePeriodEvents) {
+		this.events = events;
+		this.timeStampedEvents = timeStampedEvents;
+		this.timePeriodEvents = timePeriodEvents;
+		this.client = new SideTable(true, events, timeStampedEvents, timePeriodEvents);
+		this.server = new SideTable(false, events, timeStampedEvents, timePeriodEvents);
+	}
+	
+	/** Whether the table was compiled from these event arrays **/
+	public boolean isCompiledFrom(AnimationEvent[] events, TimeStampedEvent[] timeStampedEvents, TimePeriodEvent[] timePeriodEvents) {
+		return this.events == events && this.timeStampedEvents == timeStampedEvents && this.timePeriodEvents == timePeriodEvents;
+	}
+	
+	public void tick(LivingEntityPatch<?> entitypatch, StaticAnimation animation) {
+		SideTable table = entitypatch.isLogicalClient() ? this.client : this.server;
+		
+		for (AnimationEvent event : table.events) {
+			event.event.fire(entitypatch, animation, event.params);
+		}
+		
+		if (table.timeStampedEvents.length == 0 && table.timePeriodEvents.length == 0) {
+			return;
+		}
+		
+		AnimationPlayer player = entitypatch.getAnimator().getPlayerFor(animation);
+		
+		if (player == null) {
+			return;
+		}
+		
+		float prevElapsed = player.getPrevElapsedTime();
+		float elapsed = player.getElapsedTime();
+		TimeStampedEvent[] timeStampedEvents = table.timeStampedEvents;
+		
+		if (timeStampedEvents.length > 0) {
+			int cursor = player.getEventCursor();
+			
+			//The cursor is a hint, it is valid only when it is the first event at or after the previous elapsed time
+			if (cursor < 0 || cursor > timeStampedEvents.length || (cursor > 0 && timeStampedEvents[cursor - 1].time >= prevElapsed) || (cursor < timeStampedEvents.length && timeStampedEvents[cursor].time < prevElapsed)) {
+				cursor = lowerBound(timeStampedEvents, prevElapsed);
+			}
+			
+			while (cursor < timeStampedEvents.length && timeStampedEvents[cursor].time < elapsed) {
+				TimeStampedEvent event = timeStampedEvents[cursor++];
+				event.event.fire(entitypatch, animation, event.params);
+			}
+			
+			player.setEventCursor(cursor);
+		}
+		
+		for (TimePeriodEvent event : table.timePeriodEvents) {
+			if (event.start > elapsed) {
+				break;
+			}
+			
+			if (event.end > elapsed) {
+				event.event.fire(entitypatch, animation, event.params);
+			}
+		}
+	}
+	
+	private static int lowerBound(TimeStampedEvent[] timeStampedEvents, float time) {
+		int low = 0;
+		int high = timeStampedEvents.length;
+		
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			
+			if (timeStampedEvents[mid].time < time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		
+		return low;
+	}
+	
+	private static <E extends AnimationEvent> E[] filterSide(E[] events, E[] empty, boolean isLogicalClient) {
+		if (events == null) {
+			return empty;
+		}
+		
+		return Arrays.stream(events).filter((event) -> event.executionSide.predicate.test(isLogicalClient)).toArray((size) -> Arrays.copyOf(empty, size));
+	}
+	
+	private static class SideTable {
+		final AnimationEvent[] events;
+		final TimeStampedEvent[] timeStampedEvents;
+		final TimePeriodEvent[] timePeriodEvents;
+		
+		SideTable(boolean isLogicalClient, AnimationEvent[] events, TimeStampedEvent[] timeStampedEvents, TimePeriodEvent[] timePeriodEvents) {
+			this.events = filterSide(events, new AnimationEvent[0], isLogicalClient);
+			this.timeStampedEvents = filterSide(timeStampedEvents, new TimeStampedEvent[0], isLogicalClient);
+			this.timePeriodEvents = filterSide(timePeriodEvents, new TimePeriodEvent[0], isLogicalClient);
+			
+			//Stable sorts, events sharing a time keep their declaration order
+			Arrays.sort(this.timeStampedEvents, Comparator.comparingDouble((event) -> event.time));
+			Arrays.sort(this.timePeriodEvents, Comparator.comparingDouble((event) -> event.start));
+		}
+	}
+}
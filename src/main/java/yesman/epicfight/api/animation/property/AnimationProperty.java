@@ -15,6 +15,7 @@ import yesman.epicfight.api.animation.property.MoveCoordFunctions.MoveCoordGette
 import yesman.epicfight.api.animation.property.MoveCoordFunctions.MoveCoordSetter;
 import yesman.epicfight.api.animation.types.DynamicAnimation;
 import yesman.epicfight.api.utils.HitEntityList.Priority;
+import yesman.epicfight.api.utils.IndexedPropertyMap;
 import yesman.epicfight.api.utils.TimePairList;
 import yesman.epicfight.api.utils.math.ValueModifier;
 import yesman.epicfight.particle.HitParticleType;
@@ -24,7 +25,16 @@ import yesman.epicfight.world.damagesource.ExtraDamageInstance;
 import yesman.epicfight.world.damagesource.SourceTag;
 import yesman.epicfight.world.damagesource.StunType;
 
-public abstract class AnimationProperty<T> {
+public abstract class AnimationProperty<T> implements IndexedPropertyMap.IndexedKey<T> {
+	private static final IndexedPropertyMap.KeyRegistry REGISTRY = new IndexedPropertyMap.KeyRegistry();
+	
+	private final int index = REGISTRY.register();
+	
+	@Override
+	public int index() {
+		return this.index;
+	}
+	
 	public static class StaticAnimationProperty<T> extends AnimationProperty<T> {
 		/**
 		 * Events that are fired in every tick.
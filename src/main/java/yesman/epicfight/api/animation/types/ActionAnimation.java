@@ -51,13 +51,13 @@ public class ActionAnimation extends MainFrameAnimation {
 		entitypatch.cancelAnyAction();
 		
 		if (entitypatch.shouldMoveOnCurrentSide(this)) {
-			if (this.getProperty(ActionAnimationProperty.STOP_MOVEMENT).orElse(false)) {
+			if (this.getPropertyOrDefault(ActionAnimationProperty.STOP_MOVEMENT, false)) {
 				entitypatch.getOriginal().setDeltaMovement(0.0D, entitypatch.getOriginal().getDeltaMovement().y, 0.0D);
 			}
 			
 			entitypatch.correctRotation();
 			
-			MoveCoordSetter moveCoordSetter = this.getProperty(ActionAnimationProperty.COORD_SET_BEGIN).orElse(MoveCoordFunctions.RAW_COORD);
+			MoveCoordSetter moveCoordSetter = this.getPropertyOrDefault(ActionAnimationProperty.COORD_SET_BEGIN, MoveCoordFunctions.RAW_COORD);
 			moveCoordSetter.set(this, entitypatch, entitypatch.getArmature().getActionAnimationCoord());
 		}
 	}
@@ -93,7 +93,7 @@ public class ActionAnimation extends MainFrameAnimation {
 		}
 		
 		if (animation instanceof LinkAnimation) {
-			if (!this.getProperty(ActionAnimationProperty.MOVE_ON_LINK).orElse(true)) {
+			if (!this.getPropertyOrDefault(ActionAnimationProperty.MOVE_ON_LINK, true)) {
 				return false;
 			} else {
 				return this.shouldMove(0.0F);
@@ -114,14 +114,14 @@ public class ActionAnimation extends MainFrameAnimation {
 	
 	@Override
 	public void modifyPose(DynamicAnimation animation, Pose pose, LivingEntityPatch<?> entitypatch, float time, float partialTicks) {
-		if (this.getProperty(ActionAnimationProperty.COORD).isEmpty()) {
+		if (this.getPropertyOrDefault(ActionAnimationProperty.COORD, null) == null) {
 			JointTransform jt = pose.getOrDefaultTransform("Root");
 			Vec3f jointPosition = jt.translation();
 			OpenMatrix4f toRootTransformApplied = entitypatch.getArmature().searchJointByName("Root").getLocalTrasnform().removeTranslation();
 			OpenMatrix4f toOrigin = OpenMatrix4f.invert(toRootTransformApplied, null);
 			Vec3f worldPosition = OpenMatrix4f.transform3v(toRootTransformApplied, jointPosition, null);
 			worldPosition.x = 0.0F;
-			worldPosition.y = (this.getProperty(ActionAnimationProperty.MOVE_VERTICAL).orElse(false) && worldPosition.y > 0.0F) ? 0.0F : worldPosition.y;
+			worldPosition.y = (this.getPropertyOrDefault(ActionAnimationProperty.MOVE_VERTICAL, false) && worldPosition.y > 0.0F) ? 0.0F : worldPosition.y;
 			worldPosition.z = 0.0F;
 			OpenMatrix4f.transform3v(toOrigin, worldPosition, worldPosition);
 			jointPosition.x = worldPosition.x;
@@ -149,14 +149,15 @@ public class ActionAnimation extends MainFrameAnimation {
 		Map<String, JointTransform> data1 = pose1.getJointTransformData();
 		Pose pose = this.getPoseByTime(entitypatch, nextStart, 1.0F);
 		
-		if (entitypatch.shouldMoveOnCurrentSide(this) && this.getProperty(ActionAnimationProperty.MOVE_ON_LINK).orElse(true)) {
+		if (entitypatch.shouldMoveOnCurrentSide(this) && this.getPropertyOrDefault(ActionAnimationProperty.MOVE_ON_LINK, true)) {
 			JointTransform jt = pose.getOrDefaultTransform("Root");
 			
-			if (this.getProperty(ActionAnimationProperty.COORD).isEmpty()) {
+			TransformSheet coordTransform = this.getPropertyOrDefault(ActionAnimationProperty.COORD, null);
+			
+			if (coordTransform == null) {
 				Vec3f withPosition = entitypatch.getArmature().getActionAnimationCoord().getInterpolatedTranslation(nextStart);
 				jt.translation().set(withPosition);
 			} else {
-				TransformSheet coordTransform = this.getProperty(ActionAnimationProperty.COORD).get();
 				Vec3f nextCoord = coordTransform.getKeyframes()[0].transform().translation();
 				jt.translation().add(0.0F, 0.0F, nextCoord.z);
 			}
@@ -176,14 +177,14 @@ public class ActionAnimation extends MainFrameAnimation {
 	
 	protected Vec3 getCoordVector(LivingEntityPatch<?> entitypatch, DynamicAnimation animation) {
 		AnimationPlayer player = entitypatch.getAnimator().getPlayerFor(animation);
-		TimePairList coordUpdateTime = this.getProperty(ActionAnimationProperty.COORD_UPDATE_TIME).orElse(null);
+		TimePairList coordUpdateTime = this.getPropertyOrDefault(ActionAnimationProperty.COORD_UPDATE_TIME, null);
 		boolean isCoordUpdateTime = true;
 		
 		if (coordUpdateTime != null && !coordUpdateTime.isTimeInPairs(player.getElapsedTime())) {
 			isCoordUpdateTime = false;
 		}
 		
-		MoveCoordSetter moveCoordsetter = isCoordUpdateTime ? this.getProperty(ActionAnimationProperty.COORD_SET_TICK).orElse(null) : MoveCoordFunctions.RAW_COORD;
+		MoveCoordSetter moveCoordsetter = isCoordUpdateTime ? this.getPropertyOrDefault(ActionAnimationProperty.COORD_SET_TICK, null) : MoveCoordFunctions.RAW_COORD;
 		
 		if (moveCoordsetter != null) {
 			TransformSheet transformSheet = (animation instanceof LinkAnimation) ? animation.getCoord() : entitypatch.getArmature().getActionAnimationCoord();
@@ -203,25 +204,25 @@ public class ActionAnimation extends MainFrameAnimation {
 		}
 		
 		boolean hasNoGravity = entitypatch.getOriginal().isNoGravity();
-		boolean moveVertical = this.getProperty(ActionAnimationProperty.MOVE_VERTICAL).orElse(this.getProperty(ActionAnimationProperty.COORD).isPresent());
-		MoveCoordGetter moveGetter = isCoordUpdateTime ? this.getProperty(ActionAnimationProperty.COORD_GET).orElse(MoveCoordFunctions.DIFF_FROM_PREV_COORD) : MoveCoordFunctions.DIFF_FROM_PREV_COORD;
+		boolean moveVertical = this.getPropertyOrDefault(ActionAnimationProperty.MOVE_VERTICAL, this.getPropertyOrDefault(ActionAnimationProperty.COORD, null) != null);
+		MoveCoordGetter moveGetter = isCoordUpdateTime ? this.getPropertyOrDefault(ActionAnimationProperty.COORD_GET, MoveCoordFunctions.DIFF_FROM_PREV_COORD) : MoveCoordFunctions.DIFF_FROM_PREV_COORD;
 		Vec3f move = moveGetter.get(animation, entitypatch, rootCoord);
 		
 		LivingEntity livingentity = entitypatch.getOriginal();
 		Vec3 motion = livingentity.getDeltaMovement();
 		
-		this.getProperty(ActionAnimationProperty.NO_GRAVITY_TIME).ifPresentOrElse((noGravityTime) -> {
+		TimePairList noGravityTime = this.getPropertyOrDefault(ActionAnimationProperty.NO_GRAVITY_TIME, null);
+		
+		if (noGravityTime != null) {
 			if (noGravityTime.isTimeInPairs(animation instanceof LinkAnimation ? 0.0F : player.getElapsedTime())) {
 				livingentity.setDeltaMovement(motion.x, 0.0D, motion.z);
 			} else {
 				move.y = 0.0F;
 			}
-		}, () -> {
-			if (moveVertical && move.y > 0.0F && !hasNoGravity) {
-				double gravity = livingentity.getAttribute(ForgeMod.ENTITY_GRAVITY.get()).getValue();
-				livingentity.setDeltaMovement(motion.x, motion.y <= 0.0F ? (motion.y + gravity) : motion.y, motion.z);
-			}
-		});
+		} else if (moveVertical && move.y > 0.0F && !hasNoGravity) {
+			double gravity = livingentity.getAttribute(ForgeMod.ENTITY_GRAVITY.get()).getValue();
+			livingentity.setDeltaMovement(motion.x, motion.y <= 0.0F ? (motion.y + gravity) : motion.y, motion.z);
+		}
 		
 		return move.toDoubleVector();
 	}
@@ -8,7 +8,6 @@ import java.util.Set;
 import javax.annotation.Nullable;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.mojang.blaze3d.vertex.PoseStack;
 
 import net.minecraft.client.renderer.MultiBufferSource;
@@ -32,7 +31,9 @@ import yesman.epicfight.api.animation.property.MoveCoordFunctions;
 import yesman.epicfight.api.collider.Collider;
 import yesman.epicfight.api.model.Armature;
 import yesman.epicfight.api.utils.AttackResult;
+import yesman.epicfight.api.utils.CombatEffectScheduler;
 import yesman.epicfight.api.utils.HitEntityList;
+import yesman.epicfight.api.utils.IndexedPropertyMap;
 import yesman.epicfight.api.utils.TypeFlexibleHashMap.TypeKey;
 import yesman.epicfight.particle.HitParticleType;
 import yesman.epicfight.world.capabilities.entitypatch.HumanoidMobPatch;
@@ -204,8 +205,9 @@ public class AttackAnimation extends ActionAnimation {
 		List<Entity> list = collider.updateAndSelectCollideEntity(entitypatch, this, prevPoseTime, poseTime, phase.getColliderJoint(), this.getPlaySpeed(entitypatch));
 		
 		if (list.size() > 0) {
-			HitEntityList hitEntities = new HitEntityList(entitypatch, list, phase.getProperty(AttackPhaseProperty.HIT_PRIORITY).orElse(HitEntityList.Priority.DISTANCE));
+			HitEntityList hitEntities = new HitEntityList(entitypatch, list, phase.getPropertyOrDefault(AttackPhaseProperty.HIT_PRIORITY, HitEntityList.Priority.DISTANCE));
 			int maxStrikes = this.getMaxStrikes(entitypatch, phase);
+			EpicFightDamageSource prototype = null;
 			
 			while (entitypatch.getCurrenltyAttackedEntities().size() < maxStrikes && hitEntities.next()) {
 				Entity hitten = hitEntities.getEntity();
@@ -214,7 +216,12 @@ public class AttackAnimation extends ActionAnimation {
 				if (trueEntity != null && trueEntity.isAlive() && !entitypatch.getCurrenltyAttackedEntities().contains(trueEntity) && !entitypatch.isTeammate(hitten)) {
 					if (hitten instanceof LivingEntity || hitten instanceof PartEntity) {
 						if (entity.hasLineOfSight(hitten)) {
-							EpicFightDamageSource source = this.getEpicFightDamageSource(entitypatch, hitten, phase);
+							//The source is resolved for the first hit only, the others take a copy instead of reading the attacker and the phase again
+							if (prototype == null) {
+								prototype = this.getEpicFightDamageSource(entitypatch, hitten, phase);
+							}
+							
+							EpicFightDamageSource source = prototype.copy();
 							int prevInvulTime = hitten.invulnerableTime;
 							hitten.invulnerableTime = 0;
 							AttackResult attackResult = entitypatch.attack(source, hitten, phase.hand);
@@ -225,8 +232,10 @@ public class AttackAnimation extends ActionAnimation {
 									playerpatch.getEventListener().triggerEvents(EventType.DEALT_DAMAGE_EVENT_POST, new DealtDamageEvent(playerpatch, trueEntity, source, attackResult.damage));
 								}
 								
-								hitten.level.playSound(null, hitten.getX(), hitten.getY(), hitten.getZ(), this.getHitSound(entitypatch, phase), hitten.getSoundSource(), 1.0F, 1.0F);
-								this.spawnHitParticle((ServerLevel)hitten.level, entitypatch, hitten, phase);
+								CombatEffectScheduler.runOrDefer(hitten.level, () -> {
+									hitten.level.playSound(null, hitten.getX(), hitten.getY(), hitten.getZ(), this.getHitSound(entitypatch, phase), hitten.getSoundSource(), 1.0F, 1.0F);
+									this.spawnHitParticle((ServerLevel)hitten.level, entitypatch, hitten, phase);
+								}, true);
 							}
 							
 							if (attackResult.resultType.shouldCount()) {
@@ -264,11 +273,11 @@ public class AttackAnimation extends ActionAnimation {
 	}
 	
 	protected SoundEvent getSwingSound(LivingEntityPatch<?> entitypatch, Phase phase) {
-		return phase.getProperty(AttackPhaseProperty.SWING_SOUND).orElse(entitypatch.getSwingSound(phase.hand));
+		return phase.getPropertyOrDefault(AttackPhaseProperty.SWING_SOUND, entitypatch.getSwingSound(phase.hand));
 	}
 	
 	protected SoundEvent getHitSound(LivingEntityPatch<?> entitypatch, Phase phase) {
-		return phase.getProperty(AttackPhaseProperty.HIT_SOUND).orElse(entitypatch.getWeaponHitSound(phase.hand));
+		return phase.getPropertyOrDefault(AttackPhaseProperty.HIT_SOUND, entitypatch.getWeaponHitSound(phase.hand));
 	}
 	
 	public EpicFightDamageSource getEpicFightDamageSource(LivingEntityPatch<?> entitypatch, Entity target, Phase phase) {
@@ -312,10 +321,6 @@ public class AttackAnimation extends ActionAnimation {
 			opt.forEach(extendedSource::addExtraDamage);
 		});
 		
-		phase.getProperty(AttackPhaseProperty.SOURCE_LOCATION_PROVIDER).ifPresent((opt) -> {
-			extendedSource.setInitialPosition(opt.apply(entitypatch));
-		});
-		
 		phase.getProperty(AttackPhaseProperty.SOURCE_LOCATION_PROVIDER).ifPresentOrElse((opt) -> {
 			extendedSource.setInitialPosition(opt.apply(entitypatch));
 		}, () -> {
@@ -335,7 +340,7 @@ public class AttackAnimation extends ActionAnimation {
 	public float getPlaySpeed(LivingEntityPatch<?> entitypatch) {
 		if (entitypatch instanceof PlayerPatch<?> playerpatch) {
 			Phase phase = this.getPhaseByTime(playerpatch.getAnimator().getPlayerFor(this).getElapsedTime());
-			float speedFactor = this.getProperty(AttackAnimationProperty.ATTACK_SPEED_FACTOR).orElse(1.0F);
+			float speedFactor = this.getPropertyOrDefault(AttackAnimationProperty.ATTACK_SPEED_FACTOR, 1.0F);
 			Optional<Float> property = this.getProperty(AttackAnimationProperty.BASIS_ATTACK_SPEED);
 			float correctedSpeed = property.map((value) -> playerpatch.getAttackSpeed(phase.hand) / value).orElse(this.totalTime * playerpatch.getAttackSpeed(phase.hand));
 			correctedSpeed = Math.round(correctedSpeed * 1000.0F) / 1000.0F;
@@ -393,7 +398,7 @@ public class AttackAnimation extends ActionAnimation {
 	}
 	
 	public static class Phase {
-		private final Map<AttackPhaseProperty<?>, Object> properties = Maps.newHashMap();
+		private final IndexedPropertyMap<AttackPhaseProperty<?>> properties = new IndexedPropertyMap<>();
 		public final float start;
 		public final float antic;
 		public final float preDelay;
@@ -449,9 +454,12 @@ public class AttackAnimation extends ActionAnimation {
 			}
 		}
 		
-		@SuppressWarnings("unchecked")
 		public <V> Optional<V> getProperty(AttackPhaseProperty<V> propertyType) {
-			return (Optional<V>) Optional.ofNullable(this.properties.get(propertyType));
+			return Optional.ofNullable(this.properties.get(propertyType));
+		}
+		
+		public <V> V getPropertyOrDefault(AttackPhaseProperty<V> propertyType, V defaultValue) {
+			return this.properties.getOrDefault(propertyType, defaultValue);
 		}
 		
 		public Joint getColliderJoint() {
@@ -92,24 +92,26 @@ public class BasicAttackAnimation extends AttackAnimation {
 			entitypatch.getClientAnimator().baseLayer.copyLayerTo(entitypatch.getClientAnimator().baseLayer.getLayer(Layer.Priority.HIGHEST), playbackSpeed);
 		}
 	}
-	/**
+	
 	@Override
 	public EntityState getState(LivingEntityPatch<?> entitypatch, float time) {
-		EntityState state = super.getState(entitypatch, time);
-		
 		if (!entitypatch.getOriginal().level.getGameRules().getRule(EpicFightGamerules.STIFF_COMBO_ATTACKS).get()) {
-			state.setState(EntityState.MOVEMENT_LOCKED, false);
+			return new EntityState(this.getStatesMap(entitypatch, time));
 		}
 		
-		return state;
+		return super.getState(entitypatch, time);
 	}
-	**/
+	
 	@Override
 	public TypeFlexibleHashMap<StateFactor<?>> getStatesMap(LivingEntityPatch<?> entitypatch, float time) {
 		TypeFlexibleHashMap<StateFactor<?>> stateMap = super.getStatesMap(entitypatch, time);
 		
 		if (!entitypatch.getOriginal().level.getGameRules().getRule(EpicFightGamerules.STIFF_COMBO_ATTACKS).get()) {
-			stateMap.put(EntityState.MOVEMENT_LOCKED, (Object)false);
+			TypeFlexibleHashMap<StateFactor<?>> unlockedStateMap = new TypeFlexibleHashMap<>(false);
+			unlockedStateMap.putAll(stateMap);
+			unlockedStateMap.put(EntityState.MOVEMENT_LOCKED, (Object)false);
+			
+			return unlockedStateMap;
 		}
 		
 		return stateMap;
@@ -119,7 +121,7 @@ public class BasicAttackAnimation extends AttackAnimation {
 	protected Vec3 getCoordVector(LivingEntityPatch<?> entitypatch, DynamicAnimation dynamicAnimation) {
 		Vec3 vec3 = super.getCoordVector(entitypatch, dynamicAnimation);
 		
-		if (entitypatch.shouldBlockMoving() && this.getProperty(ActionAnimationProperty.CANCELABLE_MOVE).orElse(false)) {
+		if (entitypatch.shouldBlockMoving() && this.getPropertyOrDefault(ActionAnimationProperty.CANCELABLE_MOVE, false)) {
 			vec3 = vec3.scale(0.0F);
 		}
 		
@@ -178,6 +178,11 @@ public abstract class DynamicAnimation {
 		return Optional.empty();
 	}
 	
+	/** Allocation free variant of {@link #getProperty}, overridden by animations that own a property store **/
+	public <V> V getPropertyOrDefault(AnimationProperty<V> propertyType, V defaultValue) {
+		return this.getProperty(propertyType).orElse(defaultValue);
+	}
+	
 	public boolean isBasicAttackAnimation() {
 		return false;
 	}
@@ -4,16 +4,26 @@ import java.util.function.Function;
 
 import net.minecraft.world.damagesource.DamageSource;
 import yesman.epicfight.api.utils.AttackResult;
+import yesman.epicfight.api.utils.IndexedPropertyMap;
 import yesman.epicfight.api.utils.TypeFlexibleHashMap;
 
 public class EntityState {
-	public static class StateFactor<T> implements TypeFlexibleHashMap.TypeKey<T> {
+	public static class StateFactor<T> implements TypeFlexibleHashMap.TypeKey<T>, IndexedPropertyMap.IndexedKey<T> {
+		private static final IndexedPropertyMap.KeyRegistry REGISTRY = new IndexedPropertyMap.KeyRegistry();
+		
 		private String name;
 		private T defaultValue;
+		private final int index;
 		
 		public StateFactor(String name, T defaultValue) {
 			this.name = name;
 			this.defaultValue = defaultValue;
+			this.index = REGISTRY.register();
+		}
+		
+		@Override
+		public int index() {
+			return this.index;
 		}
 		
 		public String toString() {
@@ -25,7 +35,7 @@ public class EntityState {
 		}
 	}
 	
-	public static final EntityState DEFAULT_STATE = new EntityState(new TypeFlexibleHashMap<>(true));
+	public static final EntityState DEFAULT_STATE = EntityState.shared(new TypeFlexibleHashMap<>(true));
 	
 	public static final StateFactor<Boolean> TURNING_LOCKED = new StateFactor<>("turningLocked", false);
 	public static final StateFactor<Boolean> MOVEMENT_LOCKED = new StateFactor<>("movementLocked", false);
@@ -40,17 +50,33 @@ public class EntityState {
 	public static final StateFactor<Function<DamageSource, AttackResult.ResultType>> ATTACK_RESULT = new StateFactor<>("attackResultModifier", (damagesource) -> AttackResult.ResultType.SUCCESS);
 	
 	TypeFlexibleHashMap<StateFactor<?>> stateMap;
+	/** Slot copy of the state map, only built for the shared snapshots whose getters are read many times per tick **/
+	private final IndexedPropertyMap<StateFactor<?>> states;
 	
 	public EntityState(TypeFlexibleHashMap<StateFactor<?>> states) {
+		this(states, false);
+	}
+	
+	private EntityState(TypeFlexibleHashMap<StateFactor<?>> states, boolean indexed) {
 		this.stateMap = states;
+		this.states = indexed ? new IndexedPropertyMap<>(states) : null;
+	}
+	
+	/** A long-lived state shared between entities, the states built per lookup read the map directly instead of copying it **/
+	public static EntityState shared(TypeFlexibleHashMap<StateFactor<?>> states) {
+		return new EntityState(states, true);
 	}
 	
 	public <T> void setState(StateFactor<T> stateFactor, T val) {
 		this.stateMap.put(stateFactor, (Object)val);
+		
+		if (this.states != null) {
+			this.states.put(stateFactor, val);
+		}
 	}
 	
 	public <T> T getState(StateFactor<T> stateFactor) {
-		return this.stateMap.getOrDefault(stateFactor);
+		return this.states == null ? this.stateMap.getOrDefault(stateFactor) : this.states.getOrDefault(stateFactor, stateFactor.defaultValue());
 	}
 	
 	public boolean turningLocked() {
@@ -47,6 +47,11 @@ public class LayerOffAnimation extends DynamicAnimation {
 		return this.lastAnimation.getProperty(propertyType);
 	}
 	
+	@Override
+	public <V> V getPropertyOrDefault(AnimationProperty<V> propertyType, V defaultValue) {
+		return this.lastAnimation.getPropertyOrDefault(propertyType, defaultValue);
+	}
+	
 	public void setLastAnimation(DynamicAnimation animation) {
 		this.lastAnimation = animation;
 	}
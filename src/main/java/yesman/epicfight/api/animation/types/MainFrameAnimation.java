@@ -52,6 +52,6 @@ public class MainFrameAnimation extends StaticAnimation {
 	@Override
 	@OnlyIn(Dist.CLIENT)
 	public Layer.Priority getPriority() {
-		return this.getProperty(ClientAnimationProperties.PRIORITY).orElse(Layer.Priority.HIGHEST);
+		return this.getPropertyOrDefault(ClientAnimationProperties.PRIORITY, Layer.Priority.HIGHEST);
 	}
 }
\ No newline at end of file
@@ -1,51 +1,184 @@
 package yesman.epicfight.api.animation.types;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
+import it.unimi.dsi.fastutil.floats.FloatAVLTreeSet;
+import it.unimi.dsi.fastutil.floats.FloatSortedSet;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import yesman.epicfight.api.animation.types.EntityState.StateFactor;
 import yesman.epicfight.api.utils.TypeFlexibleHashMap;
 import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
 
+/**
+ * Fixed and conditional intervals are compiled into a sorted breakpoint timeline when the animation is loaded.
+ * Each segment between two breakpoints holds an interned, immutable state snapshot, and a snapshot table per condition value.
+ * Only variable intervals are evaluated at lookup time.
+ */
 public class StateSpectrum {
+	private static final Map<Map<StateFactor<?>, Object>, EntityState> INTERNED_STATES = Maps.newConcurrentMap();
+	private static final Segment EMPTY_SEGMENT = new Segment(intern(Maps.newHashMap()));
+	
 	private final Set<StatesInTime> timePairs = Sets.newHashSet();
+	private float[] breakpoints = new float[0];
+	private Segment[] segments = new Segment[0];
+	private VariableStatesInTime[] variableStates = new VariableStatesInTime[0];
 	
 	void readFrom(StateSpectrum.Blueprint blueprint) {
 		this.timePairs.clear();
 		this.timePairs.addAll(blueprint.timePairs);
+		this.compile();
 	}
 	
-	@SuppressWarnings("unchecked")
-	public <T> T getSingleState(StateFactor<T> stateFactor, LivingEntityPatch<?> entitypatch, float time) {
+	private void compile() {
+		List<SimpleStatesInTime> simpleStates = Lists.newArrayList();
+		List<ConditionalStatesInTime> conditionalStates = Lists.newArrayList();
+		List<VariableStatesInTime> variableStates = Lists.newArrayList();
+		FloatSortedSet breakpoints = new FloatAVLTreeSet();
+		
 		for (StatesInTime state : this.timePairs) {
-			if (state.isIn(entitypatch, time)) {
-				for (Map.Entry<StateFactor<?>, ?> timeEntry : state.getStates(entitypatch)) {
-					if (timeEntry.getKey() == stateFactor) {
-						return (T)timeEntry.getValue();
-					}
+			if (state instanceof SimpleStatesInTime simpleState) {
+				simpleStates.add(simpleState);
+				breakpoints.add(simpleState.start);
+				breakpoints.add(simpleState.end);
+			} else if (state instanceof ConditionalStatesInTime conditionalState) {
+				conditionalStates.add(conditionalState);
+				breakpoints.add(conditionalState.start);
+				breakpoints.add(conditionalState.end);
+			} else if (state instanceof VariableStatesInTime variableState) {
+				variableStates.add(variableState);
+			}
+		}
+		
+		this.breakpoints = breakpoints.toFloatArray();
+		this.segments = new Segment[Math.max(this.breakpoints.length - 1, 0)];
+		this.variableStates = variableStates.toArray(new VariableStatesInTime[0]);
+		
+		for (int i = 0; i < this.segments.length; i++) {
+			float segmentStart = this.breakpoints[i];
+			float segmentEnd = this.breakpoints[i + 1];
+			Map<StateFactor<?>, Object> states = Maps.newHashMap();
+			List<ConditionalStatesInTime> segmentConditionals = Lists.newArrayList();
+			
+			for (SimpleStatesInTime simpleState : simpleStates) {
+				if (simpleState.start <= segmentStart && simpleState.end >= segmentEnd) {
+					states.putAll(simpleState.states);
+				}
+			}
+			
+			for (ConditionalStatesInTime conditionalState : conditionalStates) {
+				if (conditionalState.start <= segmentStart && conditionalState.end >= segmentEnd) {
+					segmentConditionals.add(conditionalState);
+				}
+			}
+			
+			Segment segment = new Segment(intern(states));
+			segment.conditionals = segmentConditionals.toArray(new ConditionalStatesInTime[0]);
+			
+			if (segment.conditionals.length == 1) {
+				segment.conditionalSnapshots = new Int2ObjectOpenHashMap<>();
+				
+				for (Map.Entry<Integer, Map<StateFactor<?>, Object>> entry : segment.conditionals[0].conditionalStates.entrySet()) {
+					Map<StateFactor<?>, Object> conditionalStateMap = Maps.newHashMap(states);
+					conditionalStateMap.putAll(entry.getValue());
+					segment.conditionalSnapshots.put(entry.getKey().intValue(), intern(conditionalStateMap));
 				}
 			}
+			
+			this.segments[i] = segment;
 		}
+	}
+	
+	private static EntityState intern(Map<StateFactor<?>, Object> states) {
+		return INTERNED_STATES.computeIfAbsent(states, (key) -> {
+			TypeFlexibleHashMap<StateFactor<?>> stateMap = new TypeFlexibleHashMap<>(true);
+			
+			for (Map.Entry<StateFactor<?>, Object> entry : key.entrySet()) {
+				stateMap.put(entry.getKey(), entry.getValue());
+			}
+			
+			return EntityState.shared(stateMap);
+		});
+	}
+	
+	/** Binary search over the breakpoints, the spectrum is shared by every entity playing the animation so no cursor is kept **/
+	private Segment getSegment(float time) {
+		int index = Arrays.binarySearch(this.breakpoints, time);
+		int segmentIndex = index >= 0 ? index : -index - 2;
 		
-		return null;
+		return segmentIndex < 0 || segmentIndex >= this.segments.length ? EMPTY_SEGMENT : this.segments[segmentIndex];
 	}
 	
-	public TypeFlexibleHashMap<StateFactor<?>> getStateMap(LivingEntityPatch<?> entitypatch, float time) {
-		TypeFlexibleHashMap<StateFactor<?>> stateMap = new TypeFlexibleHashMap<>(true);
+	/** The returned state is shared between entities when no variable or overlapping conditional interval applies, it must not be modified **/
+	public EntityState getState(LivingEntityPatch<?> entitypatch, float time) {
+		Segment segment = this.getSegment(time);
+		EntityState state = segment.snapshot;
+		
+		if (segment.conditionalSnapshots != null) {
+			EntityState conditionalState = segment.conditionalSnapshots.get(segment.conditionals[0].condition.apply(entitypatch).intValue());
+			state = conditionalState == null ? state : conditionalState;
+		} else if (segment.conditionals.length > 1) {
+			state = this.mergeStates(state, segment.conditionals, entitypatch, time);
+		}
 		
-		for (StatesInTime state : this.timePairs) {
+		if (this.variableStates.length > 0) {
+			state = this.mergeStates(state, this.variableStates, entitypatch, time);
+		}
+		
+		return state;
+	}
+	
+	private EntityState mergeStates(EntityState base, StatesInTime[] statesInTime, LivingEntityPatch<?> entitypatch, float time) {
+		TypeFlexibleHashMap<StateFactor<?>> stateMap = null;
+		
+		for (StatesInTime state : statesInTime) {
 			if (state.isIn(entitypatch, time)) {
-				for (Map.Entry<StateFactor<?>, ?> timeEntry : state.getStates(entitypatch)) {
+				Set<Map.Entry<StateFactor<?>, Object>> entries = state.getStates(entitypatch);
+				
+				if (entries == null) {
+					continue;
+				}
+				
+				if (stateMap == null) {
+					stateMap = new TypeFlexibleHashMap<>(true);
+					stateMap.putAll(base.stateMap);
+				}
+				
+				for (Map.Entry<StateFactor<?>, Object> timeEntry : entries) {
 					stateMap.put(timeEntry.getKey(), timeEntry.getValue());
 				}
 			}
 		}
 		
-		return stateMap;
+		return stateMap == null ? base : new EntityState(stateMap);
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <T> T getSingleState(StateFactor<T> stateFactor, LivingEntityPatch<?> entitypatch, float time) {
+		return (T)this.getState(entitypatch, time).stateMap.get(stateFactor);
+	}
+	
+	/** See {@link #getState}, the map of a shared snapshot is returned as is **/
+	public TypeFlexibleHashMap<StateFactor<?>> getStateMap(LivingEntityPatch<?> entitypatch, float time) {
+		return this.getState(entitypatch, time).stateMap;
+	}
+	
+	private static class Segment {
+		final EntityState snapshot;
+		ConditionalStatesInTime[] conditionals = new ConditionalStatesInTime[0];
+		Int2ObjectMap<EntityState> conditionalSnapshots;
+		
+		Segment(EntityState snapshot) {
+			this.snapshot = snapshot;
+		}
 	}
 	
 	abstract static class StatesInTime {
@@ -115,7 +248,9 @@ public class StateSpectrum {
 		
 		@Override
 		public Set<Map.Entry<StateFactor<?>, Object>> getStates(LivingEntityPatch<?> entitypatch) {
-			return this.conditionalStates.get(this.condition.apply(entitypatch)).entrySet();
+			Map<StateFactor<?>, Object> states = this.conditionalStates.get(this.condition.apply(entitypatch));
+			
+			return states == null ? null : states.entrySet();
 		}
 		
 		@Override
@@ -6,20 +6,18 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
-import com.google.common.collect.Maps;
-
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import yesman.epicfight.api.animation.AnimationManager;
-import yesman.epicfight.api.animation.AnimationPlayer;
 import yesman.epicfight.api.animation.Pose;
 import yesman.epicfight.api.animation.TransformSheet;
 import yesman.epicfight.api.animation.property.AnimationEvent;
 import yesman.epicfight.api.animation.property.AnimationEvent.TimePeriodEvent;
 import yesman.epicfight.api.animation.property.AnimationEvent.TimeStampedEvent;
+import yesman.epicfight.api.animation.property.AnimationEventTable;
 import yesman.epicfight.api.animation.property.AnimationProperty;
 import yesman.epicfight.api.animation.property.AnimationProperty.ActionAnimationProperty;
 import yesman.epicfight.api.animation.property.AnimationProperty.StaticAnimationProperty;
@@ -29,19 +27,23 @@ import yesman.epicfight.api.client.animation.Layer.LayerType;
 import yesman.epicfight.api.client.animation.property.ClientAnimationProperties;
 import yesman.epicfight.api.client.animation.property.JointMask;
 import yesman.epicfight.api.client.animation.property.JointMask.BindModifier;
+import yesman.epicfight.api.client.animation.property.JointMaskEntry;
 import yesman.epicfight.api.client.animation.property.LayerInfo;
 import yesman.epicfight.api.client.animation.property.TrailInfo;
 import yesman.epicfight.api.client.model.ItemSkin;
 import yesman.epicfight.api.client.model.ItemSkins;
 import yesman.epicfight.api.model.Armature;
 import yesman.epicfight.api.model.JsonModelLoader;
+import yesman.epicfight.api.utils.IndexedPropertyMap;
 import yesman.epicfight.api.utils.TypeFlexibleHashMap;
 import yesman.epicfight.config.ConfigurationIngame;
 import yesman.epicfight.main.EpicFightMod;
 import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
 
 public class StaticAnimation extends DynamicAnimation {
-	protected final Map<AnimationProperty<?>, Object> properties = Maps.newHashMap();
+	private final IndexedPropertyMap<AnimationProperty<?>> propertyStore = new IndexedPropertyMap<>();
+	/** Map view of the property store for code written against the former map field **/
+	protected final Map<AnimationProperty<?>, Object> properties = this.propertyStore;
 	protected final StateSpectrum.Blueprint stateSpectrumBlueprint = new StateSpectrum.Blueprint();
 	protected final ResourceLocation resourceLocation;
 	protected final Armature armature;
@@ -49,6 +51,7 @@ public class StaticAnimation extends DynamicAnimation {
 	protected final int animationId;
 	
 	private final StateSpectrum stateSpectrum = new StateSpectrum();
+	private AnimationEventTable eventTable = AnimationEventTable.EMPTY;
 	
 	public StaticAnimation() {
 		super(0.0F, false);
@@ -116,14 +119,18 @@ public class StaticAnimation extends DynamicAnimation {
 	
 	@Override
 	public void begin(LivingEntityPatch<?> entitypatch) {
-		this.getProperty(StaticAnimationProperty.ON_BEGIN_EVENTS).ifPresent((events) -> {
-			for (AnimationEvent event : events) {
+		AnimationEvent[] beginEvents = this.propertyStore.get(StaticAnimationProperty.ON_BEGIN_EVENTS);
+		
+		if (beginEvents != null) {
+			for (AnimationEvent event : beginEvents) {
 				event.executeIfRightSide(entitypatch, this);
 			}
-		});
+		}
 		
 		if (entitypatch.isLogicalClient()) {
-			this.getProperty(ClientAnimationProperties.TRAIL_EFFECT).ifPresent((trailInfos) -> {
+			List<TrailInfo> trailInfos = this.propertyStore.get(ClientAnimationProperties.TRAIL_EFFECT);
+			
+			if (trailInfos != null) {
 				int idx = 0;
 				
 				for (TrailInfo trailInfo : trailInfos) {
@@ -148,57 +155,42 @@ public class StaticAnimation extends DynamicAnimation {
 					
 					entitypatch.getOriginal().level.addParticle(trailInfo.particle, eid, modid, animid, jointId, index, 0);
 				}
-			});
+			}
 		}
 	}
 	
 	@Override
 	public void end(LivingEntityPatch<?> entitypatch, DynamicAnimation nextAnimation, boolean isEnd) {
-		this.getProperty(StaticAnimationProperty.ON_END_EVENTS).ifPresent((events) -> {
-			for (AnimationEvent event : events) {
+		AnimationEvent[] endEvents = this.propertyStore.get(StaticAnimationProperty.ON_END_EVENTS);
+		
+		if (endEvents != null) {
+			for (AnimationEvent event : endEvents) {
 				event.executeIfRightSide(entitypatch, this);
 			}
-		});
+		}
 	}
 	
 	@Override
 	public void tick(LivingEntityPatch<?> entitypatch) {
-		this.getProperty(StaticAnimationProperty.EVENTS).ifPresent((events) -> {
-			for (AnimationEvent event : events) {
-				event.executeIfRightSide(entitypatch, this);
-			}
-		});
+		this.getEventTable().tick(entitypatch, this);
+	}
+	
+	/** Recompiled whenever one of the event arrays is replaced, also through the properties map view **/
+	protected AnimationEventTable getEventTable() {
+		AnimationEvent[] events = this.propertyStore.get(StaticAnimationProperty.EVENTS);
+		TimeStampedEvent[] timeStampedEvents = this.propertyStore.get(StaticAnimationProperty.TIME_STAMPED_EVENTS);
+		TimePeriodEvent[] timePeriodEvents = this.propertyStore.get(StaticAnimationProperty.TIME_PERIOD_EVENTS);
 		
-		this.getProperty(StaticAnimationProperty.TIME_STAMPED_EVENTS).ifPresent((events) -> {
-			AnimationPlayer player = entitypatch.getAnimator().getPlayerFor(this);
-			
-			if (player != null) {
-				float prevElapsed = player.getPrevElapsedTime();
-				float elapsed = player.getElapsedTime();
-				
-				for (TimeStampedEvent event : events) {
-					event.executeIfRightSide(entitypatch, this, prevElapsed, elapsed);
-				}
-			}
-		});
+		if (!this.eventTable.isCompiledFrom(events, timeStampedEvents, timePeriodEvents)) {
+			this.eventTable = new AnimationEventTable(events, timeStampedEvents, timePeriodEvents);
+		}
 		
-		this.getProperty(StaticAnimationProperty.TIME_PERIOD_EVENTS).ifPresent((events) -> {
-			AnimationPlayer player = entitypatch.getAnimator().getPlayerFor(this);
-			
-			if (player != null) {
-				float prevElapsed = player.getPrevElapsedTime();
-				float elapsed = player.getElapsedTime();
-				
-				for (TimePeriodEvent event : events) {
-					event.executeIfRightSide(entitypatch, this, prevElapsed, elapsed);
-				}
-			}
-		});
+		return this.eventTable;
 	}
 	
 	@Override
 	public EntityState getState(LivingEntityPatch<?> entitypatch, float time) {
-		return new EntityState(this.getStatesMap(entitypatch, time));
+		return this.stateSpectrum.getState(entitypatch, time);
 	}
 	
 	@Override
@@ -216,36 +208,35 @@ public class StaticAnimation extends DynamicAnimation {
 		if (!super.isJointEnabled(entitypatch, layer, joint)) {
 			return false;
 		} else {
-			if (this.getProperty(ClientAnimationProperties.MULTILAYER).isPresent()) {
-				LayerInfo layerInfo = this.getProperty(ClientAnimationProperties.MULTILAYER).get();
-				
-				if (layer == layerInfo.priority) {
-					return !layerInfo.jointMaskEntry.isMasked(entitypatch.getCurrentLivingMotion(), joint);
-				}
+			LayerInfo layerInfo = this.propertyStore.get(ClientAnimationProperties.MULTILAYER);
+			
+			if (layerInfo != null && layer == layerInfo.priority) {
+				return !layerInfo.jointMaskEntry.isMasked(entitypatch.getCurrentLivingMotion(), joint);
 			}
 			
-			return this.getProperty(ClientAnimationProperties.JOINT_MASK).map((bindModifier) -> 
-						!bindModifier.isMasked(entitypatch.getCurrentLivingMotion(), joint)).orElse(true);
+			JointMaskEntry jointMaskEntry = this.propertyStore.get(ClientAnimationProperties.JOINT_MASK);
+			
+			return jointMaskEntry == null || !jointMaskEntry.isMasked(entitypatch.getCurrentLivingMotion(), joint);
 		}
 	}
 	
 	@Override
 	public BindModifier getBindModifier(LivingEntityPatch<?> entitypatch, Layer.Priority layer, String joint) {
-		return this.getProperty(ClientAnimationProperties.JOINT_MASK).map((jointMaskEntry) -> {
-			List<JointMask> list = jointMaskEntry.getMask(entitypatch.getCurrentLivingMotion());
-			int position = list.indexOf(JointMask.of(joint));
-			
-			if (position >= 0) {
-				return list.get(position).getBindModifier();
-			} else {
-				return null;
-			}
-		}).orElse(null);
+		JointMaskEntry jointMaskEntry = this.propertyStore.get(ClientAnimationProperties.JOINT_MASK);
+		
+		if (jointMaskEntry == null) {
+			return null;
+		}
+		
+		List<JointMask> list = jointMaskEntry.getMask(entitypatch.getCurrentLivingMotion());
+		int position = list.indexOf(JointMask.of(joint));
+		
+		return position >= 0 ? list.get(position).getBindModifier() : null;
 	}
 	
 	@Override
 	public void modifyPose(DynamicAnimation animation, Pose pose, LivingEntityPatch<?> entitypatch, float time, float partialTicks) {
-		AnimationProperty.PoseModifier modifier = this.getProperty(StaticAnimationProperty.POSE_MODIFIER).orElse(null);
+		AnimationProperty.PoseModifier modifier = this.propertyStore.get(StaticAnimationProperty.POSE_MODIFIER);
 		
 		if (modifier != null) {
 			modifier.modify(animation, pose, entitypatch, time, partialTicks);
@@ -311,7 +302,7 @@ public class StaticAnimation extends DynamicAnimation {
 	
 	@Override
 	public TransformSheet getCoord() {
-		return this.getProperty(ActionAnimationProperty.COORD).orElse(super.getCoord());
+		return this.propertyStore.getOrDefault(ActionAnimationProperty.COORD, super.getCoord());
 	}
 	
 	@Override
@@ -341,20 +332,24 @@ public class StaticAnimation extends DynamicAnimation {
 		return this;
 	}
 	
-	@SuppressWarnings("unchecked")
 	@Override
 	public <V> Optional<V> getProperty(AnimationProperty<V> propertyType) {
-		return (Optional<V>) Optional.ofNullable(this.properties.get(propertyType));
+		return Optional.ofNullable(this.propertyStore.get(propertyType));
+	}
+	
+	@Override
+	public <V> V getPropertyOrDefault(AnimationProperty<V> propertyType, V defaultValue) {
+		return this.propertyStore.getOrDefault(propertyType, defaultValue);
 	}
 	
 	@OnlyIn(Dist.CLIENT)
 	public Layer.Priority getPriority() {
-		return this.getProperty(ClientAnimationProperties.PRIORITY).orElse(Layer.Priority.LOWEST);
+		return this.propertyStore.getOrDefault(ClientAnimationProperties.PRIORITY, Layer.Priority.LOWEST);
 	}
 	
 	@OnlyIn(Dist.CLIENT)
 	public Layer.LayerType getLayerType() {
-		return this.getProperty(ClientAnimationProperties.LAYER_TYPE).orElse(LayerType.BASE_LAYER);
+		return this.propertyStore.getOrDefault(ClientAnimationProperties.LAYER_TYPE, LayerType.BASE_LAYER);
 	}
 	
 	public StaticAnimation newTimePair(float start, float end) {
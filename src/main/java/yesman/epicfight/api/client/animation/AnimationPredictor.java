@@ -0,0 +1,85 @@
+package yesman.epicfight.api.client.animation;
+
+import java.util.Deque;
+
+import com.google.common.collect.Queues;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import yesman.epicfight.api.animation.property.AnimationProperty.PlaySpeedModifier;
+import yesman.epicfight.api.animation.property.AnimationProperty.StaticAnimationProperty;
+import yesman.epicfight.api.animation.types.StaticAnimation;
+import yesman.epicfight.config.ConfigurationIngame;
+import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
+
+/**
+ * Tracks animations the local player played before the server confirmed them.
+ * Each prediction is tagged with a sequence number that the server echoes back in its acknowledgement.
+ */
+@OnlyIn(Dist.CLIENT)
+public class AnimationPredictor {
+	private static final int EXPIRE_TICKS = 60;
+	private final Deque<Prediction> pendings = Queues.newArrayDeque();
+	private int sequence;
+	
+	public int predict(StaticAnimation animation) {
+		this.sequence = this.sequence == Integer.MAX_VALUE ? 1 : this.sequence + 1;
+		this.pendings.addLast(new Prediction(this.sequence, animation));
+		
+		return this.sequence;
+	}
+	
+	/** Removes the prediction of the given sequence with all older ones, which the server has already passed by **/
+	public Prediction acknowledge(int sequence) {
+		while (!this.pendings.isEmpty()) {
+			Prediction prediction = this.pendings.pollFirst();
+			
+			if (prediction.sequence == sequence) {
+				return prediction;
+			}
+		}
+		
+		return null;
+	}
+	
+	/** Advances the pending predictions by one game tick and drops the ones the server never answered **/
+	public void tick(LivingEntityPatch<?> entitypatch) {
+		for (Prediction prediction : this.pendings) {
+			prediction.tick(entitypatch);
+		}
+		
+		while (!this.pendings.isEmpty() && this.pendings.peekFirst().ticks > EXPIRE_TICKS) {
+			this.pendings.pollFirst();
+		}
+	}
+	
+	@OnlyIn(Dist.CLIENT)
+	public static class Prediction {
+		public final int sequence;
+		public final StaticAnimation animation;
+		private float elapsedTime;
+		private int ticks;
+		
+		private Prediction(int sequence, StaticAnimation animation) {
+			this.sequence = sequence;
+			this.animation = animation;
+		}
+		
+		private void tick(LivingEntityPatch<?> entitypatch) {
+			float playbackSpeed = this.animation.getPlaySpeed(entitypatch);
+			PlaySpeedModifier playSpeedModifier = this.animation.getPropertyOrDefault(StaticAnimationProperty.PLAY_SPEED_MODIFIER, null);
+			
+			if (playSpeedModifier != null) {
+				playbackSpeed = playSpeedModifier.modify(this.animation, entitypatch, playbackSpeed, this.elapsedTime);
+			}
+			
+			this.elapsedTime += ConfigurationIngame.A_TICK * playbackSpeed;
+			this.ticks++;
+		}
+		
+		/** Animation time passed since the animation was played locally **/
+		public float getElapsedTime() {
+			return this.elapsedTime;
+		}
+	}
+}
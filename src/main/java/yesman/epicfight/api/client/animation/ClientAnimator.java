@@ -67,6 +67,13 @@ public class ClientAnimator extends Animator {
 		this.baseLayer.playAnimationInstant(nextAnimation, this.entitypatch);
 	}
 	
+	/** Reconcile a locally predicted animation with the animation confirmed by server **/
+	public void reconcileAnimation(StaticAnimation animation, float elapsedTime) {
+		Layer layer = animation.getLayerType() == Layer.LayerType.BASE_LAYER ? this.baseLayer : this.baseLayer.compositeLayers.get(animation.getPriority());
+		layer.paused = false;
+		layer.reconcileAnimation(animation, this.entitypatch, elapsedTime);
+	}
+	
 	@Override
 	public void reserveAnimation(StaticAnimation nextAnimation) {
 		this.baseLayer.paused = false;
@@ -163,7 +170,7 @@ public class ClientAnimator extends Animator {
 	
 	@Override
 	public void playDeathAnimation() {
-		if (!this.getPlayerFor(null).getAnimation().getProperty(ActionAnimationProperty.IS_DEATH_ANIMATION).orElse(false)) {
+		if (!this.getPlayerFor(null).getAnimation().getPropertyOrDefault(ActionAnimationProperty.IS_DEATH_ANIMATION, false)) {
 			this.playAnimation(this.livingAnimations.get(LivingMotions.DEATH), 0.0F);
 			this.currentMotion = LivingMotions.DEATH;
 		}
@@ -63,6 +63,16 @@ public class Layer {
 		this.nextAnimation = null;
 	}
 	
+	/** Keeps the current timeline if the layer is already playing the animation. Otherwise jumps into the animation at the given elapsed time **/
+	public void reconcileAnimation(StaticAnimation animation, LivingEntityPatch<?> entitypatch, float elapsedTime) {
+		if (this.nextAnimation == animation || this.animationPlayer.getAnimation().getRealAnimation() == animation) {
+			return;
+		}
+		
+		this.playAnimationInstant(animation, entitypatch);
+		this.animationPlayer.setElapsedTime(Math.min(elapsedTime, animation.getTotalTime()));
+	}
+	
 	protected void playLivingAnimation(StaticAnimation nextAnimation, LivingEntityPatch<?> entitypatch) {
 		this.animationPlayer.getAnimation().end(entitypatch, nextAnimation, this.animationPlayer.isEnd());
 		this.resume();
@@ -86,43 +86,63 @@ public class AnimatedMesh extends Mesh<AnimatedVertexIndicator> {
 	}
 	
 	public void drawWithPoseNoTexture(PoseStack poseStack, VertexConsumer builder, int packedLightIn, float r, float g, float b, float a, int overlayCoord, OpenMatrix4f[] poses) {
-		Matrix4f matrix4f = poseStack.last().pose();
-		Matrix3f matrix3f = poseStack.last().normal();
-		OpenMatrix4f[] posesNoTranslation = new OpenMatrix4f[poses.length];
+		drawSkinnedNoTexture(poseStack, builder, this.getSkinnedPositions(poses), packedLightIn, r, g, b, a);
+	}
+	
+	/** Skins the visible vertices once, the result can be drawn any number of times with {@link #drawSkinnedNoTexture} **/
+	public float[] getSkinnedPositions(OpenMatrix4f[] poses) {
+		int vertexCount = 0;
 		
-		for (int i = 0; i < poses.length; i++) {
-			posesNoTranslation[i] = poses[i].removeTranslation();
+		for (ModelPart<AnimatedVertexIndicator> part : this.parts.values()) {
+			if (!part.hidden) {
+				vertexCount += part.getVertices().size();
+			}
 		}
 		
+		float[] skinned = new float[vertexCount * 3];
+		int offset = 0;
+		
 		for (ModelPart<AnimatedVertexIndicator> part : this.parts.values()) {
 			if (!part.hidden) {
 				for (AnimatedVertexIndicator vi : part.getVertices()) {
 					int pos = vi.position * 3;
-					int norm = vi.normal * 3;
-					Vec4f position = new Vec4f(this.positions[pos], this.positions[pos + 1], this.positions[pos + 2], 1.0F);
-					Vec4f normal = new Vec4f(this.normals[norm], this.normals[norm + 1], this.normals[norm + 2], 1.0F);
-					Vec4f totalPos = new Vec4f(0.0F, 0.0F, 0.0F, 0.0F);
-					Vec4f totalNorm = new Vec4f(0.0F, 0.0F, 0.0F, 0.0F);
+					float px = this.positions[pos];
+					float py = this.positions[pos + 1];
+					float pz = this.positions[pos + 2];
+					float x = 0.0F;
+					float y = 0.0F;
+					float z = 0.0F;
 					
 					for (int i = 0; i < vi.joint.size(); i++) {
-						int jointIndex = vi.joint.get(i);
-						int weightIndex = vi.weight.get(i);
-						float weight = this.weights[weightIndex];
-						Vec4f.add(OpenMatrix4f.transform(poses[jointIndex], position, null).scale(weight), totalPos, totalPos);
-						Vec4f.add(OpenMatrix4f.transform(posesNoTranslation[jointIndex], normal, null).scale(weight), totalNorm, totalNorm);
+						OpenMatrix4f pose = poses[vi.joint.get(i)];
+						float weight = this.weights[vi.weight.get(i)];
+						x += (pose.m00 * px + pose.m10 * py + pose.m20 * pz + pose.m30) * weight;
+						y += (pose.m01 * px + pose.m11 * py + pose.m21 * pz + pose.m31) * weight;
+						z += (pose.m02 * px + pose.m12 * py + pose.m22 * pz + pose.m32) * weight;
 					}
 					
-					Vector4f posVec = new Vector4f(totalPos.x, totalPos.y, totalPos.z, 1.0F);
-					Vector3f normVec = new Vector3f(totalNorm.x, totalNorm.y, totalNorm.z);
-					posVec.transform(matrix4f);
-					normVec.transform(matrix3f);
-					builder.vertex(posVec.x(), posVec.y(), posVec.z());
-					builder.color(r, g, b, a);
-					builder.uv2(packedLightIn);
-					builder.endVertex();
+					skinned[offset++] = x;
+					skinned[offset++] = y;
+					skinned[offset++] = z;
 				}
 			}
 		}
+		
+		return skinned;
+	}
+	
+	public static void drawSkinnedNoTexture(PoseStack poseStack, VertexConsumer builder, float[] skinnedPositions, int packedLightIn, float r, float g, float b, float a) {
+		Matrix4f matrix4f = poseStack.last().pose();
+		Vector4f posVec = new Vector4f();
+		
+		for (int i = 0; i < skinnedPositions.length; i += 3) {
+			posVec.set(skinnedPositions[i], skinnedPositions[i + 1], skinnedPositions[i + 2], 1.0F);
+			posVec.transform(matrix4f);
+			builder.vertex(posVec.x(), posVec.y(), posVec.z());
+			builder.color(r, g, b, a);
+			builder.uv2(packedLightIn);
+			builder.endVertex();
+		}
 	}
 	
 	public JsonObject toJsonObject() {
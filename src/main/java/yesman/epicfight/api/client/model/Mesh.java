@@ -1,6 +1,7 @@
 package yesman.epicfight.api.client.model;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import com.mojang.blaze3d.vertex.PoseStack;
@@ -46,6 +47,8 @@ public abstract class Mesh<T extends VertexIndicator> {
 		}
 	}
 	
+	protected static final int PACKED_VERTEX_SIZE = 8;
+	
 	final float[] positions;
 	final float[] uvs;
 	final float[] normals;
@@ -87,18 +90,19 @@ public abstract class Mesh<T extends VertexIndicator> {
 	public void drawRawModel(PoseStack poseStack, VertexConsumer builder, int packedLightIn, float r, float g, float b, float a, int overlayCoord) {
 		Matrix4f matrix4f = poseStack.last().pose();
 		Matrix3f matrix3f = poseStack.last().normal();
+		Vector4f posVec = new Vector4f();
+		Vector3f normVec = new Vector3f();
 		
 		for (ModelPart<T> part : this.parts.values()) {
 			if (!part.hidden) {
-				for (VertexIndicator vi : part.getVertices()) {
-					int pos = vi.position * 3;
-					int norm = vi.normal * 3;
-					int uv = vi.uv * 2;
-					Vector4f posVec = new Vector4f(this.positions[pos], this.positions[pos + 1], this.positions[pos + 2], 1.0F);
-					Vector3f normVec = new Vector3f(this.normals[norm], this.normals[norm + 1], this.normals[norm + 2]);
+				float[] packed = this.getPackedVertices(part);
+				
+				for (int i = 0; i < packed.length; i += PACKED_VERTEX_SIZE) {
+					posVec.set(packed[i], packed[i + 1], packed[i + 2], 1.0F);
+					normVec.set(packed[i + 5], packed[i + 6], packed[i + 7]);
 					posVec.transform(matrix4f);
 					normVec.transform(matrix3f);
-					builder.vertex(posVec.x(), posVec.y(), posVec.z(), r, g, b, a, this.uvs[uv], this.uvs[uv + 1], overlayCoord, packedLightIn, normVec.x(), normVec.y(), normVec.z());
+					builder.vertex(posVec.x(), posVec.y(), posVec.z(), r, g, b, a, packed[i + 3], packed[i + 4], overlayCoord, packedLightIn, normVec.x(), normVec.y(), normVec.z());
 				}
 			}
 		}
@@ -106,20 +110,48 @@ public abstract class Mesh<T extends VertexIndicator> {
 	
 	public void drawRawModelNormal(PoseStack poseStack, VertexConsumer builder, int packedLightIn, float r, float g, float b, float a, int overlayCoord) {
 		Matrix4f matrix4f = poseStack.last().pose();
+		Vector4f posVec = new Vector4f();
 		
 		for (ModelPart<T> part : this.parts.values()) {
 			if (!part.hidden) {
-				for (VertexIndicator vi : part.getVertices()) {
-					int pos = vi.position * 3;
-					int uv = vi.uv * 2;
-					Vector4f posVec = new Vector4f(this.positions[pos], this.positions[pos + 1], this.positions[pos + 2], 1.0F);
+				float[] packed = this.getPackedVertices(part);
+				
+				for (int i = 0; i < packed.length; i += PACKED_VERTEX_SIZE) {
+					posVec.set(packed[i], packed[i + 1], packed[i + 2], 1.0F);
 					posVec.transform(matrix4f);
-					builder.vertex(posVec.x(), posVec.y(), posVec.z()).color(r, g, b, a).uv(this.uvs[uv], this.uvs[uv + 1]).uv2(packedLightIn).endVertex();
+					builder.vertex(posVec.x(), posVec.y(), posVec.z()).color(r, g, b, a).uv(packed[i + 3], packed[i + 4]).uv2(packedLightIn).endVertex();
 				}
 			}
 		}
 	}
 	
+	/** Position, uv and normal of the part's vertices in drawing order, resolved from the indices once **/
+	protected float[] getPackedVertices(ModelPart<T> part) {
+		if (part.packedVertices == null) {
+			List<T> vertices = part.getVertices();
+			float[] packed = new float[vertices.size() * PACKED_VERTEX_SIZE];
+			int offset = 0;
+			
+			for (VertexIndicator vi : vertices) {
+				int pos = vi.position * 3;
+				int norm = vi.normal * 3;
+				int uv = vi.uv * 2;
+				packed[offset++] = this.positions[pos];
+				packed[offset++] = this.positions[pos + 1];
+				packed[offset++] = this.positions[pos + 2];
+				packed[offset++] = this.uvs[uv];
+				packed[offset++] = this.uvs[uv + 1];
+				packed[offset++] = this.normals[norm];
+				packed[offset++] = this.normals[norm + 1];
+				packed[offset++] = this.normals[norm + 2];
+			}
+			
+			part.packedVertices = packed;
+		}
+		
+		return part.packedVertices;
+	}
+	
 	public static class RawMesh extends Mesh<VertexIndicator> {
 		public static final ModelPart<VertexIndicator> EMPTY = new ModelPart<>(null);
 		
@@ -9,6 +9,7 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 public class ModelPart<T extends VertexIndicator> {
 	private final List<T> vertices;
 	public boolean hidden;
+	float[] packedVertices;
 	
 	public ModelPart(List<T> vertices) {
 		this.vertices = vertices;
@@ -19,6 +19,7 @@ import yesman.epicfight.api.animation.Pose;
 import yesman.epicfight.api.animation.types.AttackAnimation;
 import yesman.epicfight.api.animation.types.EntityState;
 import yesman.epicfight.api.model.Armature;
+import yesman.epicfight.api.utils.EntityQueryCache;
 import yesman.epicfight.api.utils.math.OpenMatrix4f;
 import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
 
@@ -48,18 +49,25 @@ public abstract class Collider {
 			attackAnimation.modifyPose(attackAnimation, rootPose, entitypatch, elapsedTime, 1.0F);
 			transformMatrix = rootPose.getOrDefaultTransform("Root").getAnimationBindedMatrix(entitypatch.getArmature().rootJoint, new OpenMatrix4f()).removeTranslation();
 		} else {
-			transformMatrix = armature.getBindedTransformByJointIndex(attackAnimation.getPoseByTime(entitypatch, elapsedTime, 1.0F), pathIndex);
+			transformMatrix = JointTransformCache.getBindedTransform(entitypatch, attackAnimation, pathIndex, elapsedTime);
 		}
 		
 		OpenMatrix4f toWorldCoord = OpenMatrix4f.createTranslation(-(float)entitypatch.getOriginal().getX(), (float)entitypatch.getOriginal().getY(), -(float)entitypatch.getOriginal().getZ());
 		transformMatrix.mulFront(toWorldCoord.mulBack(entitypatch.getModelMatrix(1.0F)));		
 		this.transform(transformMatrix);
 		
-		return this.getCollideEntities(entitypatch.getOriginal());
+		return this.getCollideEntities(entitypatch.getOriginal(), true);
 	}
 	
 	public List<Entity> getCollideEntities(Entity entity) {
-		List<Entity> list = entity.level.getEntities(entity, this.getHitboxAABB(), (e) -> {
+		return this.getCollideEntities(entity, false);
+	}
+	
+	/**
+	 * @param hurtableOnly : only alive living entities and part entities, the ones an attack can hurt
+	 */
+	protected List<Entity> getCollideEntities(Entity entity, boolean hurtableOnly) {
+		List<Entity> list = EntityQueryCache.getEntities(entity.level, entity, this.getHitboxAABB(), hurtableOnly, (e) -> {
 			if (e instanceof PartEntity<?> partEntity) {
 				if (partEntity.getParent().is(entity)) {
 					return false;
@@ -0,0 +1,80 @@
+package yesman.epicfight.api.collider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.google.common.collect.Lists;
+
+import yesman.epicfight.api.animation.JointTransform;
+import yesman.epicfight.api.animation.types.DynamicAnimation;
+import yesman.epicfight.api.utils.math.OpenMatrix4f;
+import yesman.epicfight.api.utils.math.Vec3f;
+import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
+
+/**
+ * Joint transforms evaluated for colliders, kept per entity for the current tick on the logical server.
+ * Phases and hands sharing a joint evaluate the animation pose once per time instead of once per collider.
+ */
+public class JointTransformCache {
+	private static final Map<LivingEntityPatch<?>, JointTransformCache> CACHES = new WeakHashMap<>();
+	
+	private final List<Entry> entries = Lists.newArrayList();
+	private int tickCount = -1;
+	
+	/** Binded transform of the joint at the given animation time, a copy that the caller may modify **/
+	public static OpenMatrix4f getBindedTransform(LivingEntityPatch<?> entitypatch, DynamicAnimation animation, int pathIndex, float time) {
+		if (entitypatch.isLogicalClient()) {
+			return evaluate(entitypatch, animation, pathIndex, time);
+		}
+		
+		JointTransformCache cache = CACHES.computeIfAbsent(entitypatch, (key) -> new JointTransformCache());
+		
+		if (cache.tickCount != entitypatch.getOriginal().tickCount) {
+			cache.tickCount = entitypatch.getOriginal().tickCount;
+			cache.entries.clear();
+		}
+		
+		for (Entry entry : cache.entries) {
+			if (entry.animation == animation && entry.pathIndex == pathIndex && entry.time == time) {
+				return new OpenMatrix4f(entry.transform);
+			}
+		}
+		
+		OpenMatrix4f transform = evaluate(entitypatch, animation, pathIndex, time);
+		cache.entries.add(new Entry(animation, pathIndex, time, transform));
+		
+		return new OpenMatrix4f(transform);
+	}
+	
+	private static OpenMatrix4f evaluate(LivingEntityPatch<?> entitypatch, DynamicAnimation animation, int pathIndex, float time) {
+		return entitypatch.getArmature().getBindedTransformByJointIndex(animation.getPoseByTime(entitypatch, time, 1.0F), pathIndex);
+	}
+	
+	/** Splits a transform into translation, rotation and scale, the rotation is read after the scale is divided out **/
+	public static JointTransform decompose(OpenMatrix4f transform) {
+		Vec3f scale = transform.toScaleVector();
+		OpenMatrix4f rotation = new OpenMatrix4f(transform).scale(1.0F / scale.x, 1.0F / scale.y, 1.0F / scale.z);
+		
+		return new JointTransform(transform.toTranslationVector(), rotation.toQuaternion(), scale);
+	}
+	
+	/** Transform between two decomposed endpoint transforms, used for the sub steps of a tick **/
+	public static OpenMatrix4f interpolate(JointTransform from, JointTransform to, float progression) {
+		return JointTransform.interpolate(from, to, progression).toMatrix();
+	}
+	
+	private static class Entry {
+		final DynamicAnimation animation;
+		final int pathIndex;
+		final float time;
+		final OpenMatrix4f transform;
+		
+		Entry(DynamicAnimation animation, int pathIndex, float time, OpenMatrix4f transform) {
+			this.animation = animation;
+			this.pathIndex = pathIndex;
+			this.time = time;
+			this.transform = transform;
+		}
+	}
+}
@@ -17,6 +17,7 @@ import yesman.epicfight.api.animation.Pose;
 import yesman.epicfight.api.animation.property.AnimationProperty.AttackAnimationProperty;
 import yesman.epicfight.api.animation.types.AttackAnimation;
 import yesman.epicfight.api.model.Armature;
+import yesman.epicfight.api.utils.EntityQueryCache;
 import yesman.epicfight.api.utils.math.OpenMatrix4f;
 import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
 
@@ -46,7 +47,7 @@ public abstract class MultiCollider<T extends Collider> extends Collider {
 	
 	@Override
 	public List<Entity> updateAndSelectCollideEntity(LivingEntityPatch<?> entitypatch, AttackAnimation attackAnimation, float prevElapsedTime, float elapsedTime, Joint joint, float attackSpeed) {
-		int numberOf = Math.max(Math.round((this.numberOfColliders + attackAnimation.getProperty(AttackAnimationProperty.EXTRA_COLLIDERS).orElse(0)) * attackSpeed), this.numberOfColliders);
+		int numberOf = Math.max(Math.round((this.numberOfColliders + attackAnimation.getPropertyOrDefault(AttackAnimationProperty.EXTRA_COLLIDERS, 0)) * attackSpeed), this.numberOfColliders);
 		float partialScale = 1.0F / (numberOf - 1);
 		float interpolation = 0.0F;
 		List<Collider> colliders = Lists.newArrayList();
@@ -60,11 +61,19 @@ public abstract class MultiCollider<T extends Collider> extends Collider {
 		}
 		
 		AABB outerBox = null;
+		Armature armature = entitypatch.getArmature();
+		int pathIndex = armature.searchPathIndex(joint.getName());
+		JointTransform prevTransform = null;
+		JointTransform transform = null;
+		
+		if (pathIndex != -1) {
+			//Sub steps follow the joint transforms at both ends of the tick instead of evaluating the whole pose for every collider
+			prevTransform = JointTransformCache.decompose(JointTransformCache.getBindedTransform(entitypatch, attackAnimation, pathIndex, prevElapsedTime));
+			transform = JointTransformCache.decompose(JointTransformCache.getBindedTransform(entitypatch, attackAnimation, pathIndex, elapsedTime));
+		}
 		
 		for (Collider collider : colliders) {
 			OpenMatrix4f transformMatrix;
-			Armature armature = entitypatch.getArmature();
-			int pathIndex = armature.searchPathIndex(joint.getName());
 			
 			if (pathIndex == -1) {
 				Pose rootPose = new Pose();
@@ -72,8 +81,7 @@ public abstract class MultiCollider<T extends Collider> extends Collider {
 				attackAnimation.modifyPose(attackAnimation, rootPose, entitypatch, elapsedTime, 1.0F);
 				transformMatrix = rootPose.getOrDefaultTransform("Root").getAnimationBindedMatrix(entitypatch.getArmature().rootJoint, new OpenMatrix4f()).removeTranslation();
 			} else {
-				float interpolateTime = prevElapsedTime + (elapsedTime - prevElapsedTime) * interpolation;
-				transformMatrix = armature.getBindedTransformByJointIndex(attackAnimation.getPoseByTime(entitypatch, interpolateTime, 1.0F), pathIndex);
+				transformMatrix = JointTransformCache.interpolate(prevTransform, transform, interpolation);
 			}
 			
 			double x = entitypatch.getXOld() + (original.getX() - entitypatch.getXOld()) * interpolation;
@@ -91,7 +99,7 @@ public abstract class MultiCollider<T extends Collider> extends Collider {
 			}
 		}
 		
-		List<Entity> entities = entitypatch.getOriginal().level.getEntities(entitypatch.getOriginal(), outerBox, (entity) -> {
+		List<Entity> entities = EntityQueryCache.getEntities(original.level, original, outerBox, true, (entity) -> {
 			if (entity instanceof PartEntity) {
 				if (((PartEntity<?>)entity).getParent().is(entitypatch.getOriginal())) {
 					return false;
@@ -40,7 +40,7 @@ public class MultiOBBCollider extends MultiCollider<OBBCollider> {
 	@OnlyIn(Dist.CLIENT)
 	@Override
 	public void draw(PoseStack matrixStackIn, MultiBufferSource buffer, LivingEntityPatch<?> entitypatch, AttackAnimation animation, float prevElapsedTime, float elapsedTime, float partialTicks, float attackSpeed) {
-		int numberOf = Math.max(Math.round((this.numberOfColliders + animation.getProperty(AttackAnimationProperty.EXTRA_COLLIDERS).orElse(0)) * attackSpeed), this.numberOfColliders);
+		int numberOf = Math.max(Math.round((this.numberOfColliders + animation.getPropertyOrDefault(AttackAnimationProperty.EXTRA_COLLIDERS, 0)) * attackSpeed), this.numberOfColliders);
 		float partialScale = 1.0F / (numberOf - 1);
 		float interpolation = 0.0F;
 		Armature armature = entitypatch.getArmature();
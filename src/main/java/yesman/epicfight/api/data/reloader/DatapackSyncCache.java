@@ -0,0 +1,235 @@
+package yesman.epicfight.api.data.reloader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import yesman.epicfight.main.EpicFightMod;
+import yesman.epicfight.network.EpicFightNetworkManager;
+import yesman.epicfight.network.client.CPRequestDatapackSync;
+import yesman.epicfight.network.server.SPDatapackSync;
+import yesman.epicfight.network.server.SPDatapackSyncChunk;
+
+/**
+ * Holds the armor, weapon and mob patch datapack payload that is sent to joining players.
+ * The server builds it once per datapack reload, compresses it and splits it into chunks, and pushes it from the datapack sync event
+ * so that it is applied before the entities and items of the joining player get their patches.
+ * The hash sent to each player is tracked so that a reload with unchanged data sends nothing and a client may ask for one resend only.
+ */
+public class DatapackSyncCache {
+	public static final int CHUNK_SIZE = 32768;
+	private static final SPDatapackSync.Type[] PAYLOAD_TYPES = { SPDatapackSync.Type.ARMOR, SPDatapackSync.Type.WEAPON, SPDatapackSync.Type.MOB };
+	
+	private static final Map<UUID, SyncState> SYNC_STATES = Maps.newHashMap();
+	private static Payload serverPayload;
+	
+	public static void invalidate() {
+		serverPayload = null;
+	}
+	
+	/** Sends the payload to the player unless the player already received the same one **/
+	public static void sendPayload(ServerPlayer player) {
+		Payload payload = getOrBuild();
+		SyncState syncState = SYNC_STATES.get(player.getUUID());
+		
+		if (syncState != null && syncState.hash.equals(payload.getHash())) {
+			return;
+		}
+		
+		SYNC_STATES.put(player.getUUID(), new SyncState(payload.getHash()));
+		sendChunks(payload, player);
+	}
+	
+	/** Resends the current payload once when the client failed to decode it, any other request is ignored **/
+	public static void onResendRequest(ServerPlayer player, String hash) {
+		Payload payload = getOrBuild();
+		SyncState syncState = SYNC_STATES.get(player.getUUID());
+		
+		if (syncState == null || syncState.resent || !syncState.hash.equals(hash) || !payload.getHash().equals(hash)) {
+			return;
+		}
+		
+		syncState.resent = true;
+		sendChunks(payload, player);
+	}
+	
+	public static void forget(ServerPlayer player) {
+		SYNC_STATES.remove(player.getUUID());
+	}
+	
+	public static void clearSyncStates() {
+		SYNC_STATES.clear();
+	}
+	
+	private static void sendChunks(Payload payload, ServerPlayer player) {
+		for (int i = 0; i < payload.getChunkCount(); i++) {
+			EpicFightNetworkManager.sendToPlayer(new SPDatapackSyncChunk(payload.getHash(), i, payload.getChunkCount(), payload.getChunk(i)), player);
+		}
+	}
+	
+	public static Payload getOrBuild() {
+		if (serverPayload == null) {
+			FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+			writeTags(buf, ItemCapabilityReloadListener.armorCount(), ItemCapabilityReloadListener.getArmorDataStream().toList());
+			writeTags(buf, ItemCapabilityReloadListener.weaponCount(), ItemCapabilityReloadListener.getWeaponDataStream().toList());
+			writeTags(buf, MobPatchReloadListener.getTagCount(), MobPatchReloadListener.getDataStream().toList());
+			
+			byte[] raw = new byte[buf.readableBytes()];
+			buf.readBytes(raw);
+			buf.release();
+			
+			serverPayload = new Payload(Hashing.sha256().hashBytes(raw).toString(), split(compress(raw)));
+		}
+		
+		return serverPayload;
+	}
+	
+	private static void writeTags(FriendlyByteBuf buf, int count, List<CompoundTag> tags) {
+		buf.writeInt(count);
+		
+		for (CompoundTag tag : tags) {
+			buf.writeNbt(tag);
+		}
+	}
+	
+	private static byte[] compress(byte[] raw) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+		
+		try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_COMPRESSION))) {
+			deflater.write(raw);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to compress datapack sync payload", e);
+		}
+		
+		return out.toByteArray();
+	}
+	
+	private static byte[] decompress(byte[] compressed) throws IOException {
+		try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+			return inflater.readAllBytes();
+		}
+	}
+	
+	private static byte[][] split(byte[] data) {
+		int count = Math.max(1, (data.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+		byte[][] chunks = new byte[count][];
+		
+		for (int i = 0; i < count; i++) {
+			chunks[i] = Arrays.copyOfRange(data, i * CHUNK_SIZE, Math.min(data.length, (i + 1) * CHUNK_SIZE));
+		}
+		
+		return chunks;
+	}
+	
+	/** Client side. Chunks are collected and decoded on the network thread, only the returned task has to run on the main thread **/
+	private static String receivingHash;
+	private static byte[][] receivingChunks;
+	private static int receivedCount;
+	
+	/** Returns the task applying the payload once every chunk arrived, or asking for a resend if it can't be decoded, null otherwise **/
+	@OnlyIn(Dist.CLIENT)
+	public static Runnable receiveChunk(String hash, int index, int count, byte[] data) {
+		if (!hash.equals(receivingHash) || receivingChunks == null || receivingChunks.length != count) {
+			receivingHash = hash;
+			receivingChunks = new byte[count][];
+			receivedCount = 0;
+		}
+		
+		if (index < 0 || index >= count || receivingChunks[index] != null) {
+			return null;
+		}
+		
+		receivingChunks[index] = data;
+		receivedCount++;
+		
+		if (receivedCount < count) {
+			return null;
+		}
+		
+		ByteArrayOutputStream joined = new ByteArrayOutputStream();
+		
+		for (byte[] chunk : receivingChunks) {
+			joined.writeBytes(chunk);
+		}
+		
+		receivingHash = null;
+		receivingChunks = null;
+		receivedCount = 0;
+		
+		try {
+			return prepare(decompress(joined.toByteArray()));
+		} catch (IOException | RuntimeException e) {
+			EpicFightMod.LOGGER.error("Failed to decode datapack sync payload " + hash, e);
+			return () -> EpicFightNetworkManager.sendToServer(new CPRequestDatapackSync(hash));
+		}
+	}
+	
+	@OnlyIn(Dist.CLIENT)
+	private static Runnable prepare(byte[] raw) {
+		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(raw));
+		SPDatapackSync[] packets = new SPDatapackSync[PAYLOAD_TYPES.length];
+		
+		for (int i = 0; i < PAYLOAD_TYPES.length; i++) {
+			packets[i] = new SPDatapackSync(buf.readInt(), PAYLOAD_TYPES[i]);
+			
+			for (int j = 0; j < packets[i].getTags().length; j++) {
+				packets[i].write(buf.readNbt());
+			}
+		}
+		
+		ItemCapabilityReloadListener.PreparedCapabilities itemCapabilities = ItemCapabilityReloadListener.prepareServerPacket(packets[0], packets[1]);
+		List<MobPatchReloadListener.PreparedMobPatch> mobPatches = MobPatchReloadListener.prepareServerPacket(packets[2]);
+		
+		return () -> {
+			ItemCapabilityReloadListener.applyPrepared(itemCapabilities);
+			MobPatchReloadListener.applyPrepared(mobPatches);
+		};
+	}
+	
+	private static class SyncState {
+		final String hash;
+		boolean resent;
+		
+		SyncState(String hash) {
+			this.hash = hash;
+		}
+	}
+	
+	public static class Payload {
+		private final String hash;
+		private final byte[][] chunks;
+		
+		private Payload(String hash, byte[][] chunks) {
+			this.hash = hash;
+			this.chunks = chunks;
+		}
+		
+		public String getHash() {
+			return this.hash;
+		}
+		
+		public int getChunkCount() {
+			return this.chunks.length;
+		}
+		
+		public byte[] getChunk(int index) {
+			return this.chunks[index];
+		}
+	}
+}
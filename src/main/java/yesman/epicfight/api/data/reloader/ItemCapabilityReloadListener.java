@@ -54,6 +54,8 @@ public class ItemCapabilityReloadListener extends SimpleJsonResourceReloadListen
 	
 	@Override
 	protected void apply(Map<ResourceLocation, JsonElement> objectIn, ResourceManager resourceManagerIn, ProfilerFiller profilerIn) {
+		DatapackSyncCache.invalidate();
+		
 		for (Map.Entry<ResourceLocation, JsonElement> entry : objectIn.entrySet()) {
 			ResourceLocation rl = entry.getKey();
 			String path = rl.getPath();
@@ -289,5 +291,44 @@ public class ItemCapabilityReloadListener extends SimpleJsonResourceReloadListen
 		}
 	}
 	
+	/** Decodes armor and weapon packets into capabilities. Doesn't modify any registry so it can run on the network thread **/
+	@OnlyIn(Dist.CLIENT)
+	public static PreparedCapabilities prepareServerPacket(SPDatapackSync armorPacket, SPDatapackSync weaponPacket) {
+		PreparedCapabilities prepared = new PreparedCapabilities();
+		
+		for (CompoundTag tag : armorPacket.getTags()) {
+			Item item = Item.byId(tag.getInt("id"));
+			prepared.armorTags.put(item, tag);
+			prepared.capabilities.add(Pair.of(item, deserializeArmor(item, tag)));
+		}
+		
+		for (CompoundTag tag : weaponPacket.getTags()) {
+			Item item = Item.byId(tag.getInt("id"));
+			prepared.weaponTags.put(item, tag);
+			prepared.capabilities.add(Pair.of(item, deserializeWeapon(item, tag, null)));
+		}
+		
+		return prepared;
+	}
 	
+	@OnlyIn(Dist.CLIENT)
+	public static void applyPrepared(PreparedCapabilities prepared) {
+		CAPABILITY_ARMOR_DATA_MAP.putAll(prepared.armorTags);
+		CAPABILITY_WEAPON_DATA_MAP.putAll(prepared.weaponTags);
+		
+		for (Pair<Item, CapabilityItem> capability : prepared.capabilities) {
+			ItemCapabilityProvider.put(capability.getFirst(), capability.getSecond());
+		}
+		
+		ItemCapabilityProvider.addDefaultItems();
+		armorReceived = true;
+		weaponReceived = true;
+	}
+	
+	@OnlyIn(Dist.CLIENT)
+	public static class PreparedCapabilities {
+		private final Map<Item, CompoundTag> armorTags = Maps.newHashMap();
+		private final Map<Item, CompoundTag> weaponTags = Maps.newHashMap();
+		private final List<Pair<Item, CapabilityItem>> capabilities = Lists.newArrayList();
+	}
 }
\ No newline at end of file
@@ -73,6 +73,8 @@ public class MobPatchReloadListener extends SimpleJsonResourceReloadListener {
 	
 	@Override
 	protected void apply(Map<ResourceLocation, JsonElement> objectIn, ResourceManager resourceManagerIn, ProfilerFiller profilerIn) {
+		DatapackSyncCache.invalidate();
+		
 		for (Map.Entry<ResourceLocation, JsonElement> entry : objectIn.entrySet()) {
 			ResourceLocation rl = entry.getKey();
 			String pathString = rl.getPath();
@@ -199,6 +201,13 @@ public class MobPatchReloadListener extends SimpleJsonResourceReloadListener {
 	}
 	
 	public static AbstractMobPatchProvider deserialize(EntityType<?> entityType, CompoundTag tag, boolean clientSide) {
+		registerModels(entityType, tag);
+		
+		return deserializeProviders(entityType, tag, clientSide);
+	}
+	
+	/** Builds the providers without touching mesh and armature registries, so it's safe to call outside of the main thread **/
+	public static AbstractMobPatchProvider deserializeProviders(EntityType<?> entityType, CompoundTag tag, boolean clientSide) {
 		AbstractMobPatchProvider provider = null;
 		int i = 0;
 		boolean hasBranch = tag.contains(String.format("branch_%d", i));
@@ -212,13 +221,38 @@ public class MobPatchReloadListener extends SimpleJsonResourceReloadListener {
 		
 		while (hasBranch) {
 			CompoundTag branchTag = tag.getCompound(String.format("branch_%d", i));
-			((BranchProvider)provider).providers.add(Pair.of(deserializePredicate(branchTag.getCompound("condition")), deserialize(entityType, branchTag, clientSide)));
+			((BranchProvider)provider).providers.add(Pair.of(deserializePredicate(branchTag.getCompound("condition")), deserializeProviders(entityType, branchTag, clientSide)));
 			hasBranch = tag.contains(String.format("branch_%d", ++i));
 		}
 		
 		return provider;
 	}
 	
+	public static void registerModels(EntityType<?> entityType, CompoundTag tag) {
+		boolean disabled = tag.contains("disabled") ? tag.getBoolean("disabled") : false;
+		
+		if (!disabled && !tag.contains("preset")) {
+			boolean humanoid = tag.getBoolean("isHumanoid") ? tag.getBoolean("isHumanoid") : false;
+			ResourceLocation modelLocation = new ResourceLocation(tag.getString("model"));
+			ResourceLocation armatureLocation = new ResourceLocation(tag.getString("armature"));
+			
+			modelLocation = new ResourceLocation(modelLocation.getNamespace(), "animmodels/" + modelLocation.getPath() + ".json");
+			armatureLocation = new ResourceLocation(armatureLocation.getNamespace(), "animmodels/" + armatureLocation.getPath() + ".json");
+			
+			if (EpicFightMod.isPhysicalClient()) {
+				Minecraft mc = Minecraft.getInstance();
+				Meshes.getOrCreateAnimatedMesh(mc.getResourceManager(), modelLocation, humanoid ? AnimatedMesh::new : HumanoidMesh::new);
+				Armatures.registerEntityTypeArmature(entityType, Armatures.getOrCreateArmature(mc.getResourceManager(), armatureLocation, humanoid ? Armature::new : HumanoidArmature::new));
+			} else {
+				Armatures.registerEntityTypeArmature(entityType, Armatures.getOrCreateArmature(null, armatureLocation, humanoid ? Armature::new : HumanoidArmature::new));
+			}
+		}
+		
+		for (int i = 0; tag.contains(String.format("branch_%d", i)); i++) {
+			registerModels(entityType, tag.getCompound(String.format("branch_%d", i)));
+		}
+	}
+	
 	public static EpicFightPredicates<Entity> deserializePredicate(CompoundTag tag) {
 		String predicateType = tag.getString("predicate");
 		EpicFightPredicates<Entity> predicate = null;
@@ -259,20 +293,6 @@ public class MobPatchReloadListener extends SimpleJsonResourceReloadListener {
 				boolean humanoid = tag.getBoolean("isHumanoid") ? tag.getBoolean("isHumanoid") : false;
 				CustomMobPatchProvider provider = humanoid ? new CustomHumanoidMobPatchProvider() : new CustomMobPatchProvider();
 				provider.attributeValues = deserializeAttributes(tag.getCompound("attributes"));
-				ResourceLocation modelLocation = new ResourceLocation(tag.getString("model"));
-				ResourceLocation armatureLocation = new ResourceLocation(tag.getString("armature"));
-				
-				modelLocation = new ResourceLocation(modelLocation.getNamespace(), "animmodels/" + modelLocation.getPath() + ".json");
-				armatureLocation = new ResourceLocation(armatureLocation.getNamespace(), "animmodels/" + armatureLocation.getPath() + ".json");
-				
-				if (EpicFightMod.isPhysicalClient()) {
-					Minecraft mc = Minecraft.getInstance();
-					Meshes.getOrCreateAnimatedMesh(mc.getResourceManager(), modelLocation, humanoid ? AnimatedMesh::new : HumanoidMesh::new);
-					Armatures.registerEntityTypeArmature(entityType, Armatures.getOrCreateArmature(mc.getResourceManager(), armatureLocation, humanoid ? Armature::new : HumanoidArmature::new));
-				} else {
-					Armatures.registerEntityTypeArmature(entityType, Armatures.getOrCreateArmature(null, armatureLocation, humanoid ? Armature::new : HumanoidArmature::new));
-				}
-				
 				provider.defaultAnimations = deserializeDefaultAnimations(tag.getCompound("default_livingmotions"));
 				provider.faction = Faction.valueOf(tag.getString("faction").toUpperCase(Locale.ROOT));
 				provider.scale = tag.getCompound("attributes").contains("scale") ? (float)tag.getCompound("attributes").getDouble("scale") : 1.0F;
@@ -547,20 +567,52 @@ public class MobPatchReloadListener extends SimpleJsonResourceReloadListener {
 	
 	@OnlyIn(Dist.CLIENT)
 	public static void processServerPacket(SPDatapackSync packet) {
+		applyPrepared(prepareServerPacket(packet));
+	}
+	
+	/** Decodes the packet into providers. Doesn't modify any registry so it can run on the network thread **/
+	@OnlyIn(Dist.CLIENT)
+	public static List<PreparedMobPatch> prepareServerPacket(SPDatapackSync packet) {
+		List<PreparedMobPatch> prepared = Lists.newArrayList();
+		
 		for (CompoundTag tag : packet.getTags()) {
+			EntityType<?> entityType = ForgeRegistries.ENTITIES.getValue(new ResourceLocation(tag.getString("id")));
+			prepared.add(new PreparedMobPatch(entityType, tag, deserializeProviders(entityType, tag, true)));
+		}
+		
+		return prepared;
+	}
+	
+	@OnlyIn(Dist.CLIENT)
+	public static void applyPrepared(List<PreparedMobPatch> prepared) {
+		for (PreparedMobPatch mobPatch : prepared) {
+			CompoundTag tag = mobPatch.tag;
 			boolean disabled = false;
 			
 			if (tag.contains("disabled")) {
 				disabled = tag.getBoolean("disabled");
 			}
 			
-			EntityType<?> entityType = ForgeRegistries.ENTITIES.getValue(new ResourceLocation(tag.getString("id")));
-			MOB_PATCH_PROVIDERS.put(entityType, deserialize(entityType, tag, true));
-			EntityPatchProvider.putCustomEntityPatch(entityType, (entity) -> () -> MOB_PATCH_PROVIDERS.get(entity.getType()).get(entity));
+			registerModels(mobPatch.entityType, tag);
+			MOB_PATCH_PROVIDERS.put(mobPatch.entityType, mobPatch.provider);
+			EntityPatchProvider.putCustomEntityPatch(mobPatch.entityType, (entity) -> () -> MOB_PATCH_PROVIDERS.get(entity.getType()).get(entity));
 			
 			if (!disabled) {
-				ClientEngine.getInstance().renderEngine.registerCustomEntityRenderer(entityType, tag.contains("preset") ? tag.getString("preset") : tag.getString("renderer"));
+				ClientEngine.getInstance().renderEngine.registerCustomEntityRenderer(mobPatch.entityType, tag.contains("preset") ? tag.getString("preset") : tag.getString("renderer"));
 			}
 		}
 	}
+	
+	@OnlyIn(Dist.CLIENT)
+	public static class PreparedMobPatch {
+		private final EntityType<?> entityType;
+		private final CompoundTag tag;
+		private final AbstractMobPatchProvider provider;
+		
+		private PreparedMobPatch(EntityType<?> entityType, CompoundTag tag, AbstractMobPatchProvider provider) {
+			this.entityType = entityType;
+			this.tag = tag;
+			this.provider = provider;
+		}
+	}
 }
\ No newline at end of file
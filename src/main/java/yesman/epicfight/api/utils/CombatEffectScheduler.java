@@ -0,0 +1,85 @@
+package yesman.epicfight.api.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import net.minecraft.world.level.Level;
+
+/**
+ * Runs the secondary effects of combat on the logical server within a time budget per tick: hit sounds, particle broadcasts,
+ * fracture packets and block destruction by shockwaves. Damage and state changes never go through it.
+ * Effects over the budget spill into the following ticks in order. Cosmetic effects waiting longer than {@link #MAX_DELAY} ticks are dropped,
+ * so a mass area attack thins out its effects instead of stalling the tick. World modifications never expire, they run once the budget
+ * reaches them or at the latest when the server stops.
+ */
+public class CombatEffectScheduler {
+	private static final long TICK_BUDGET_NANOS = 2_000_000L;
+	private static final int MAX_DELAY = 10;
+	private static final Deque<DeferredEffect> DEFERRED_EFFECTS = new ArrayDeque<>();
+	private static long tickCount;
+	private static long spentNanos;
+	
+	/**
+	 * Runs the effect now if the budget of the tick allows it and no earlier effect is waiting, defers it otherwise
+	 * 
+	 * @param cosmetic : whether the effect may be dropped after waiting {@link #MAX_DELAY} ticks, false for effects that modify the world
+	 */
+	public static void runOrDefer(Level level, Runnable effect, boolean cosmetic) {
+		if (level.isClientSide()) {
+			effect.run();
+			return;
+		}
+		
+		if (DEFERRED_EFFECTS.isEmpty() && spentNanos < TICK_BUDGET_NANOS) {
+			run(effect);
+		} else {
+			DEFERRED_EFFECTS.add(new DeferredEffect(effect, cosmetic ? tickCount + MAX_DELAY : Long.MAX_VALUE));
+		}
+	}
+	
+	/** Called at the start of a server tick, renews the budget and spends it on the effects waiting from previous ticks **/
+	public static void tick() {
+		tickCount++;
+		spentNanos = 0L;
+		
+		while (!DEFERRED_EFFECTS.isEmpty() && spentNanos < TICK_BUDGET_NANOS) {
+			DeferredEffect deferredEffect = DEFERRED_EFFECTS.poll();
+			
+			if (deferredEffect.expireTick >= tickCount) {
+				run(deferredEffect.effect);
+			}
+		}
+		
+		//Cosmetic effects that would run too late to match what happened in the combat are dropped
+		DEFERRED_EFFECTS.removeIf((deferredEffect) -> deferredEffect.expireTick < tickCount);
+	}
+	
+	/** Called while the server stops, runs the pending world modifications while their levels are still loaded and drops the cosmetic effects **/
+	public static void flush() {
+		while (!DEFERRED_EFFECTS.isEmpty()) {
+			DeferredEffect deferredEffect = DEFERRED_EFFECTS.poll();
+			
+			if (deferredEffect.expireTick == Long.MAX_VALUE) {
+				deferredEffect.effect.run();
+			}
+		}
+		
+		spentNanos = 0L;
+	}
+	
+	private static void run(Runnable effect) {
+		long start = System.nanoTime();
+		effect.run();
+		spentNanos += System.nanoTime() - start;
+	}
+	
+	private static class DeferredEffect {
+		final Runnable effect;
+		final long expireTick;
+		
+		DeferredEffect(Runnable effect, long expireTick) {
+			this.effect = effect;
+			this.expireTick = expireTick;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package yesman.epicfight.api.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.Lists;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.entity.PartEntity;
+
+/**
+ * Entity snapshots of a server level bucketed by chunk section, collected once per tick and shared by every collider query of the tick.
+ * Snapshots only narrow the candidates, the final test runs on the live bounding box. Entities that moved farther than
+ * {@link #MARGIN} or spawned during the tick are picked up on the next tick. Client levels query the level directly.
+ */
+public class EntityQueryCache {
+	private static final double MARGIN = 2.0D;
+	private static final Map<Level, EntityQueryCache> CACHES = new WeakHashMap<>();
+	
+	private final Long2ObjectOpenHashMap<List<EntitySnapshot>> sections = new Long2ObjectOpenHashMap<>();
+	private long gameTime;
+	
+	/**
+	 * @param hurtableOnly : skips entities that are neither alive living entities nor part entities before running the filter
+	 */
+	public static List<Entity> getEntities(Level level, @Nullable Entity except, AABB box, boolean hurtableOnly, Predicate<Entity> filter) {
+		if (level.isClientSide()) {
+			return level.getEntities(except, box, (entity) -> (!hurtableOnly || isHurtable(entity)) && filter.test(entity));
+		}
+		
+		EntityQueryCache cache = CACHES.computeIfAbsent(level, (key) -> new EntityQueryCache());
+		
+		if (cache.gameTime != level.getGameTime()) {
+			cache.gameTime = level.getGameTime();
+			cache.sections.clear();
+		}
+		
+		List<Entity> entities = Lists.newArrayList();
+		double minX = box.minX - MARGIN;
+		double minY = box.minY - MARGIN;
+		double minZ = box.minZ - MARGIN;
+		double maxX = box.maxX + MARGIN;
+		double maxY = box.maxY + MARGIN;
+		double maxZ = box.maxZ + MARGIN;
+		int minSectionX = SectionPos.blockToSectionCoord(Mth.floor(minX));
+		int minSectionY = SectionPos.blockToSectionCoord(Mth.floor(minY));
+		int minSectionZ = SectionPos.blockToSectionCoord(Mth.floor(minZ));
+		int maxSectionX = SectionPos.blockToSectionCoord(Mth.floor(maxX));
+		int maxSectionY = SectionPos.blockToSectionCoord(Mth.floor(maxY));
+		int maxSectionZ = SectionPos.blockToSectionCoord(Mth.floor(maxZ));
+		
+		for (int sectionX = minSectionX; sectionX <= maxSectionX; sectionX++) {
+			for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+				for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; sectionZ++) {
+					for (EntitySnapshot snapshot : cache.getSection(level, sectionX, sectionY, sectionZ)) {
+						AABB snapshotBox = snapshot.boundingBox;
+						
+						if (snapshotBox.maxX <= minX || snapshotBox.minX >= maxX || snapshotBox.maxY <= minY || snapshotBox.minY >= maxY || snapshotBox.maxZ <= minZ || snapshotBox.minZ >= maxZ) {
+							continue;
+						}
+						
+						//An entity spanning several sections is taken only from the section holding the lowest corner of its overlap with the query
+						if (SectionPos.blockToSectionCoord(Mth.floor(Math.max(snapshotBox.minX, minX))) != sectionX
+								|| SectionPos.blockToSectionCoord(Mth.floor(Math.max(snapshotBox.minY, minY))) != sectionY
+								|| SectionPos.blockToSectionCoord(Mth.floor(Math.max(snapshotBox.minZ, minZ))) != sectionZ) {
+							continue;
+						}
+						
+						Entity entity = snapshot.entity;
+						
+						if (entity == except || entity.isRemoved() || (hurtableOnly && !isHurtable(entity))) {
+							continue;
+						}
+						
+						if (entity.getBoundingBox().intersects(box) && filter.test(entity)) {
+							entities.add(entity);
+						}
+					}
+				}
+			}
+		}
+		
+		return entities;
+	}
+	
+	/** Drops the snapshots of an unloading level, the snapshotted entities would keep it reachable **/
+	public static void unloadLevel(Level level) {
+		CACHES.remove(level);
+	}
+	
+	public static void clear() {
+		CACHES.clear();
+	}
+	
+	private List<EntitySnapshot> getSection(Level level, int sectionX, int sectionY, int sectionZ) {
+		long sectionKey = SectionPos.asLong(sectionX, sectionY, sectionZ);
+		List<EntitySnapshot> snapshots = this.sections.get(sectionKey);
+		
+		if (snapshots == null) {
+			double minX = SectionPos.sectionToBlockCoord(sectionX);
+			double minY = SectionPos.sectionToBlockCoord(sectionY);
+			double minZ = SectionPos.sectionToBlockCoord(sectionZ);
+			AABB sectionBox = new AABB(minX, minY, minZ, minX + 16.0D, minY + 16.0D, minZ + 16.0D);
+			snapshots = Lists.newArrayList();
+			
+			for (Entity entity : level.getEntities((Entity)null, sectionBox, (e) -> true)) {
+				snapshots.add(new EntitySnapshot(entity));
+			}
+			
+			this.sections.put(sectionKey, snapshots);
+		}
+		
+		return snapshots;
+	}
+	
+	private static boolean isHurtable(Entity entity) {
+		return (entity instanceof LivingEntity && entity.isAlive()) || entity instanceof PartEntity;
+	}
+	
+	private static class EntitySnapshot {
+		final Entity entity;
+		final AABB boundingBox;
+		
+		EntitySnapshot(Entity entity) {
+			this.entity = entity;
+			this.boundingBox = entity.getBoundingBox();
+		}
+	}
+}
@@ -1,131 +1,259 @@
 package yesman.epicfight.api.utils;
 
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.BiFunction;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Lists;
 
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.Mob;
-import net.minecraft.world.entity.ai.goal.GoalSelector;
 import net.minecraft.world.entity.ai.goal.WrappedGoal;
 import net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal;
+import net.minecraft.world.level.Level;
 import yesman.epicfight.world.capabilities.EpicFightCapabilities;
 import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
 
+/**
+ * Entities are ordered lazily, each {@link #next()} selects only the next entity by priority.
+ * Attacks stop asking once their max strikes are reached, so most of the candidates are never ranked.
+ */
 public class HitEntityList {
-	private List<Entity> hitEntites;
-	private int index;
+	private final Iterator<Entity> hitEntites;
+	private Entity current;
 	
 	public HitEntityList(LivingEntityPatch<?> attacker, List<Entity> entities, Priority priority) {
-		this.index = -1;
-		this.hitEntites = priority.sort(attacker, entities);
+		this.hitEntites = priority.selector(attacker, entities);
 	}
 	
 	public Entity getEntity() {
-		return this.hitEntites.get(this.index);
+		return this.current;
 	}
 	
 	public boolean next() {
-		this.index++;
-		return this.hitEntites.size() > this.index ? true : false;
+		if (this.hitEntites.hasNext()) {
+			this.current = this.hitEntites.next();
+			return true;
+		}
+		
+		this.current = null;
+		
+		return false;
+	}
+	
+	/** Drops the hostility verdicts of an unloading level, the cached entities would keep it reachable **/
+	public static void unloadLevel(Level level) {
+		HostilityVerdicts.VERDICTS.remove(level);
+	}
+	
+	public static void clearHostilityVerdicts() {
+		HostilityVerdicts.VERDICTS.clear();
 	}
 	
 	public static enum Priority {
-		DISTANCE((attacker, list) -> {
-			List<Double> distanceToAttacker = Lists.<Double>newArrayList();
+		DISTANCE(DistanceSelector::new),
+		TARGET((attacker, list) -> {
 			List<Entity> hitEntites = Lists.<Entity>newArrayList();
 			
-			Outer:
 			for (Entity entity : list) {
-				double distance = attacker.getOriginal().distanceToSqr(entity);
-				int index = 0;
-				
-				for (; index < hitEntites.size(); index++) {
-					if (distance < distanceToAttacker.get(index)) {
-						hitEntites.add(index, entity);
-						distanceToAttacker.add(index, distance);
-						continue Outer;
-					}
+				if (entity.is(attacker.getTarget())) {
+					hitEntites.add(entity);
 				}
-				
-				hitEntites.add(index, entity);
-				distanceToAttacker.add(index, distance);
 			}
-			return hitEntites;
+			
+			return hitEntites.iterator();
 		}),
+		HOSTILITY(HostilitySelector::new);
 		
-		TARGET((attacker, list) -> {
-			List<Entity> hitEntites = Lists.<Entity>newArrayList();
+		BiFunction<LivingEntityPatch<?>, List<Entity>, Iterator<Entity>> selectorFactory;
+		
+		Priority(BiFunction<LivingEntityPatch<?>, List<Entity>, Iterator<Entity>> selectorFactory) {
+			this.selectorFactory = selectorFactory;
+		}
+		
+		public Iterator<Entity> selector(LivingEntityPatch<?> attacker, List<Entity> entities) {
+			return this.selectorFactory.apply(attacker, entities);
+		}
+		
+		public List<Entity> sort(LivingEntityPatch<?> attacker, List<Entity> entities) {
+			return this.sort(attacker, entities, Integer.MAX_VALUE);
+		}
+		
+		/** The first limit entities by priority **/
+		public List<Entity> sort(LivingEntityPatch<?> attacker, List<Entity> entities, int limit) {
+			Iterator<Entity> selector = this.selector(attacker, entities);
+			List<Entity> sorted = Lists.newArrayList();
 			
-			for (Entity entity : list) {
-				if (entity.is(attacker.getTarget())) {
-					hitEntites.add(entity);
+			while (sorted.size() < limit && selector.hasNext()) {
+				sorted.add(selector.next());
+			}
+			
+			return sorted;
+		}
+	}
+	
+	/** Partial selection sort over primitive distances, ties keep the collision order **/
+	private static class DistanceSelector extends AbstractIterator<Entity> {
+		final Entity[] entities;
+		final double[] distances;
+		int selected;
+		
+		DistanceSelector(LivingEntityPatch<?> attacker, List<Entity> list) {
+			this.entities = list.toArray(new Entity[0]);
+			this.distances = new double[this.entities.length];
+			
+			for (int i = 0; i < this.entities.length; i++) {
+				this.distances[i] = attacker.getOriginal().distanceToSqr(this.entities[i]);
+			}
+		}
+		
+		@Override
+		protected Entity computeNext() {
+			if (this.selected >= this.entities.length) {
+				return this.endOfData();
+			}
+			
+			int nearest = this.selected;
+			
+			for (int i = this.selected + 1; i < this.entities.length; i++) {
+				if (this.distances[i] < this.distances[nearest]) {
+					nearest = i;
 				}
 			}
 			
-			return hitEntites;
-		}),
-		HOSTILITY((attacker, list) -> {
-			List<Entity> firstTargets = Lists.newArrayList();
-			List<Entity> secondTargets = Lists.newArrayList();
-			List<Entity> lastTargets = Lists.newArrayList();
+			Entity entity = this.entities[nearest];
+			double distance = this.distances[nearest];
+			System.arraycopy(this.entities, this.selected, this.entities, this.selected + 1, nearest - this.selected);
+			System.arraycopy(this.distances, this.selected, this.distances, this.selected + 1, nearest - this.selected);
+			this.entities[this.selected] = entity;
+			this.distances[this.selected] = distance;
+			this.selected++;
+			
+			return entity;
+		}
+	}
+	
+	/**
+	 * Entities targeting or targeted by the attacker first, then mobs whose targeting goals accept the attacker, then the rest.
+	 * The goal scan of the second group only runs as far as the entities are asked for. Each group keeps the collision order,
+	 * mobs rejected by the scan stay at their place among the rest.
+	 */
+	private static class HostilitySelector extends AbstractIterator<Entity> {
+		final LivingEntityPatch<?> attacker;
+		final List<Entity> firstTargets = Lists.newArrayList();
+		final List<Entity> laterTargets = Lists.newArrayList();
+		final BitSet secondTargets = new BitSet();
+		int firstIndex;
+		int pendingIndex;
+		int lastIndex;
+		
+		HostilitySelector(LivingEntityPatch<?> attacker, List<Entity> list) {
+			this.attacker = attacker;
 			
-			Outer:
 			for (Entity e : list) {
 				if (attacker.isTeammate(e)) {
 					continue;
 				}
 				
 				if (attacker.getOriginal().getLastHurtByMob() == e || attacker.getTarget() == e) {
-					firstTargets.add(e);
+					this.firstTargets.add(e);
 					continue;
 				}
 				
 				LivingEntityPatch<?> entitypatch = EpicFightCapabilities.getEntityPatch(e, LivingEntityPatch.class);
 				
-				if (entitypatch != null) {
-					if (attacker.getOriginal().is(entitypatch.getTarget())) {
-						firstTargets.add(e);
-						continue;
-					}
+				if (entitypatch != null && attacker.getOriginal().is(entitypatch.getTarget())) {
+					this.firstTargets.add(e);
+					continue;
 				}
 				
 				if (e instanceof Mob mob) {
 					if (attacker.getOriginal().is(mob.getTarget())) {
-						firstTargets.add(mob);
+						this.firstTargets.add(mob);
 						continue;
-					} else {
-						GoalSelector targetingAi = mob.targetSelector;
-						
-						for (WrappedGoal goal : targetingAi.getAvailableGoals()) {
-							if (goal.getGoal() instanceof NearestAttackableTargetGoal<?> targetGoal) {
-								if (targetGoal.targetConditions.test(mob, attacker.getOriginal())) {
-									secondTargets.add(mob);
-									continue Outer;
-								}
-							}
-						}
 					}
 				}
 				
-				lastTargets.add(e);
+				this.laterTargets.add(e);
+			}
+		}
+		
+		@Override
+		protected Entity computeNext() {
+			if (this.firstIndex < this.firstTargets.size()) {
+				return this.firstTargets.get(this.firstIndex++);
 			}
 			
-			secondTargets.addAll(lastTargets);
-			firstTargets.addAll(secondTargets);
+			while (this.pendingIndex < this.laterTargets.size()) {
+				int index = this.pendingIndex++;
+				
+				if (this.laterTargets.get(index) instanceof Mob mob && HostilityVerdicts.isTargetedBy(mob, this.attacker.getOriginal())) {
+					this.secondTargets.set(index);
+					return mob;
+				}
+			}
 			
-			return firstTargets;
-		});
+			while (this.lastIndex < this.laterTargets.size()) {
+				int index = this.lastIndex++;
+				
+				if (!this.secondTargets.get(index)) {
+					return this.laterTargets.get(index);
+				}
+			}
+			
+			return this.endOfData();
+		}
+	}
+	
+	/** Whether a mob's targeting goals accept an attacker, cached per level for the current tick on the logical server **/
+	private static class HostilityVerdicts {
+		private static final Map<Level, HostilityVerdicts> VERDICTS = new WeakHashMap<>();
 		
-		BiFunction<LivingEntityPatch<?>, List<Entity>, List<Entity>> sortingFunction;
+		private final Reference2ObjectOpenHashMap<LivingEntity, Reference2BooleanOpenHashMap<Mob>> verdicts = new Reference2ObjectOpenHashMap<>();
+		private long gameTime;
 		
-		Priority(BiFunction<LivingEntityPatch<?>, List<Entity>, List<Entity>> sortingFunction) {
-			this.sortingFunction = sortingFunction;
+		static boolean isTargetedBy(Mob mob, LivingEntity attacker) {
+			if (mob.level.isClientSide()) {
+				return testTargetingGoals(mob, attacker);
+			}
+			
+			HostilityVerdicts levelVerdicts = VERDICTS.computeIfAbsent(mob.level, (level) -> new HostilityVerdicts());
+			
+			if (levelVerdicts.gameTime != mob.level.getGameTime()) {
+				levelVerdicts.gameTime = mob.level.getGameTime();
+				levelVerdicts.verdicts.clear();
+			}
+			
+			Reference2BooleanOpenHashMap<Mob> attackerVerdicts = levelVerdicts.verdicts.get(attacker);
+			
+			if (attackerVerdicts == null) {
+				attackerVerdicts = new Reference2BooleanOpenHashMap<>();
+				levelVerdicts.verdicts.put(attacker, attackerVerdicts);
+			} else if (attackerVerdicts.containsKey(mob)) {
+				return attackerVerdicts.getBoolean(mob);
+			}
+			
+			boolean verdict = testTargetingGoals(mob, attacker);
+			attackerVerdicts.put(mob, verdict);
+			
+			return verdict;
 		}
 		
-		public List<Entity> sort(LivingEntityPatch<?> attacker, List<Entity> entities) {
-			return this.sortingFunction.apply(attacker, entities);
+		private static boolean testTargetingGoals(Mob mob, LivingEntity attacker) {
+			for (WrappedGoal goal : mob.targetSelector.getAvailableGoals()) {
+				if (goal.getGoal() instanceof NearestAttackableTargetGoal<?> targetGoal && targetGoal.targetConditions.test(mob, attacker)) {
+					return true;
+				}
+			}
+			
+			return false;
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package yesman.epicfight.api.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import yesman.epicfight.api.utils.IndexedPropertyMap.IndexedKey;
+
+/**
+ * Property store backed by an array, every key owns a dense slot index given by its {@link KeyRegistry}.
+ * The typed {@link #get(IndexedKey)} and {@link #getOrDefault(IndexedKey, Object)} are a bounds check, a key identity check and an array read.
+ * It also implements {@link Map} so code written against the former map fields keeps working, null values are not stored.
+ */
+public class IndexedPropertyMap<K extends IndexedKey<?>> extends AbstractMap<K, Object> {
+	private static final Object[] EMPTY = new Object[0];
+	
+	private Object[] keys = EMPTY;
+	private Object[] values = EMPTY;
+	private int size;
+	private EntrySet entrySet;
+	
+	public IndexedPropertyMap() {
+	}
+	
+	public IndexedPropertyMap(Map<? extends K, ?> map) {
+		this.putAll(map);
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <T> T get(IndexedKey<T> key) {
+		return (T)this.valueOf(key);
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <T> T getOrDefault(IndexedKey<T> key, T defaultValue) {
+		Object value = this.valueOf(key);
+		
+		return value == null ? defaultValue : (T)value;
+	}
+	
+	/** The slot only answers to the key stored in it, a key of another family sharing the index reads nothing **/
+	private Object valueOf(IndexedKey<?> key) {
+		int index = key.index();
+		
+		return index < this.values.length && this.keys[index] == key ? this.values[index] : null;
+	}
+	
+	@Override
+	public Object get(Object key) {
+		return key instanceof IndexedKey<?> indexedKey ? this.get(indexedKey) : null;
+	}
+	
+	@Override
+	public boolean containsKey(Object key) {
+		return this.get(key) != null;
+	}
+	
+	@Override
+	public Object put(K key, Object value) {
+		if (value == null) {
+			return this.remove(key);
+		}
+		
+		int index = key.index();
+		
+		if (index >= this.values.length) {
+			int length = Math.max(index + 1, this.values.length * 2);
+			this.keys = Arrays.copyOf(this.keys, length);
+			this.values = Arrays.copyOf(this.values, length);
+		}
+		
+		Object old = this.values[index];
+		
+		if (old == null) {
+			this.size++;
+		}
+		
+		this.keys[index] = key;
+		this.values[index] = value;
+		
+		return old;
+	}
+	
+	@Override
+	public Object remove(Object key) {
+		if (!(key instanceof IndexedKey<?> indexedKey) || indexedKey.index() >= this.values.length || this.keys[indexedKey.index()] != key) {
+			return null;
+		}
+		
+		int index = indexedKey.index();
+		Object old = this.values[index];
+		
+		if (old != null) {
+			this.keys[index] = null;
+			this.values[index] = null;
+			this.size--;
+		}
+		
+		return old;
+	}
+	
+	@Override
+	public void clear() {
+		Arrays.fill(this.keys, null);
+		Arrays.fill(this.values, null);
+		this.size = 0;
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public Set<Map.Entry<K, Object>> entrySet() {
+		if (this.entrySet == null) {
+			this.entrySet = new EntrySet();
+		}
+		
+		return this.entrySet;
+	}
+	
+	private class EntrySet extends AbstractSet<Map.Entry<K, Object>> {
+		@Override
+		public Iterator<Map.Entry<K, Object>> iterator() {
+			return new Iterator<> () {
+				int next = this.seek(0);
+				int last = -1;
+				
+				int seek(int from) {
+					while (from < IndexedPropertyMap.this.values.length && IndexedPropertyMap.this.values[from] == null) {
+						from++;
+					}
+					
+					return from;
+				}
+				
+				@Override
+				public boolean hasNext() {
+					return this.next < IndexedPropertyMap.this.values.length;
+				}
+				
+				@Override
+				@SuppressWarnings("unchecked")
+				public Map.Entry<K, Object> next() {
+					if (!this.hasNext()) {
+						throw new NoSuchElementException();
+					}
+					
+					this.last = this.next;
+					this.next = this.seek(this.next + 1);
+					
+					return new AbstractMap.SimpleImmutableEntry<> ((K)IndexedPropertyMap.this.keys[this.last], IndexedPropertyMap.this.values[this.last]);
+				}
+				
+				@Override
+				public void remove() {
+					if (this.last < 0) {
+						throw new IllegalStateException();
+					}
+					
+					IndexedPropertyMap.this.remove(IndexedPropertyMap.this.keys[this.last]);
+					this.last = -1;
+				}
+			};
+		}
+		
+		@Override
+		public int size() {
+			return IndexedPropertyMap.this.size;
+		}
+	}
+	
+	public interface IndexedKey<T> {
+		public int index();
+	}
+	
+	/** Hands out dense slot indices, each key family owns one registry so its stores stay small **/
+	public static class KeyRegistry {
+		private final AtomicInteger counter = new AtomicInteger();
+		
+		public int register() {
+			return this.counter.getAndIncrement();
+		}
+		
+		public int size() {
+			return this.counter.get();
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package yesman.epicfight.api.utils;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
@@ -9,24 +10,32 @@ import com.google.common.collect.Lists;
 import com.mojang.math.Quaternion;
 import com.mojang.math.Vector3f;
 
-import net.minecraft.client.Minecraft;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.TerrainParticle;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.phys.shapes.CollisionContext;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
-import yesman.epicfight.api.utils.math.Vec2i;
+import yesman.epicfight.client.ClientEngine;
+import yesman.epicfight.client.particle.ParticleBudget;
 import yesman.epicfight.gameasset.Animations;
 import yesman.epicfight.gameasset.EpicFightSounds;
 import yesman.epicfight.network.EpicFightNetworkManager;
@@ -36,127 +45,160 @@ import yesman.epicfight.world.damagesource.EpicFightDamageSource;
 import yesman.epicfight.world.damagesource.SourceTags;
 import yesman.epicfight.world.damagesource.StunType;
 import yesman.epicfight.world.level.block.FractureBlock;
+import yesman.epicfight.world.level.block.FractureBlockStore;
 import yesman.epicfight.world.level.block.FractureBlockState;
 
 public class LevelUtil {
 	private static final Vec3 IMPACT_DIRECTION = new Vec3(0.0D, -1.0D, 0.0D);
 	
 	public static void spreadShockwave(Level level, Vec3 center, Vec3 direction, double length, int edgeX, int edgeZ, List<Entity> entityBeingHit) {
-		Vec3 edgeOfShockwave = center.add(direction.normalize().scale((float)length));
 		int xFrom = (int)Math.min(Math.floor(center.x), edgeX);
 		int xTo = (int)Math.max(Math.floor(center.x), edgeX);
 		int zFrom = (int)Math.min(Math.floor(center.z), edgeZ);
 		int zTo = (int)Math.max(Math.floor(center.z), edgeZ);
-		List<Vec2i> affectedBlocks = Lists.newArrayList();
-		List<Entity> entitiesInArea = level.isClientSide ? null : level.getEntities(null, new AABB(xFrom, center.y - length, zFrom, xTo, center.y + length, zTo));
+		Long2ObjectMap<List<Entity>> entityColumns = level.isClientSide ? null : getEntityColumns(level, new AABB(xFrom, center.y - length, zFrom, xTo + 1, center.y + length, zTo + 1), entityBeingHit);
 		
+		spreadShockwave(level, center, direction, length, new ChunkCache(level), entityColumns, entityBeingHit);
+	}
+	
+	/**
+	 * Walks the cells crossed by the shockwave line in the order the line enters them (Amanatides-Woo traversal),
+	 * so no candidate rectangle is tested and no sorting is needed. Cells the line only touches at an edge or a corner are skipped.
+	 */
+	private static void spreadShockwave(Level level, Vec3 center, Vec3 direction, double length, ChunkCache chunkCache, @Nullable Long2ObjectMap<List<Entity>> entityColumns, List<Entity> entityBeingHit) {
+		Vec3 edgeOfShockwave = center.add(direction.normalize().scale((float)length));
+		double dx = edgeOfShockwave.x - center.x;
+		double dz = edgeOfShockwave.z - center.z;
+		int stepX = dx > 0.0D ? 1 : dx < 0.0D ? -1 : 0;
+		int stepZ = dz > 0.0D ? 1 : dz < 0.0D ? -1 : 0;
+		int cellX = Mth.floor(center.x);
+		int cellZ = Mth.floor(center.z);
+		double tDeltaX = stepX == 0 ? Double.MAX_VALUE : 1.0D / Math.abs(dx);
+		double tDeltaZ = stepZ == 0 ? Double.MAX_VALUE : 1.0D / Math.abs(dz);
+		double tMaxX = stepX > 0 ? (cellX + 1 - center.x) * tDeltaX : stepX < 0 ? (center.x - cellX) * tDeltaX : Double.MAX_VALUE;
+		double tMaxZ = stepZ > 0 ? (cellZ + 1 - center.z) * tDeltaZ : stepZ < 0 ? (center.z - cellZ) * tDeltaZ : Double.MAX_VALUE;
+		double tEntry = 0.0D;
 		double bounceExponentCoef = Math.min(1.0D / (length * length), 0.1D);
+		int y = Mth.floor(center.y);
 		
-		for (int k = zFrom; k <= zTo; k++) {
-			for (int l = xFrom; l <= xTo; l++) {
-				Vec2i blockCoord = new Vec2i(l, k);
-				
-				if (isBlockOverlapLine(blockCoord, center, edgeOfShockwave)) {
-					affectedBlocks.add(blockCoord);
-				}
-			}
-		}
-		
-		affectedBlocks.sort((v1, v2) -> {
-			double v1DistSqr = Math.pow(v1.x - center.x, 2) + Math.pow(v1.y - center.z, 2);
-			double v2DistSqr = Math.pow(v2.x - center.x, 2) + Math.pow(v2.y - center.z, 2); 
-			
-			if (v1DistSqr > v2DistSqr) {
-				return 1;
-			} else if (v1DistSqr == v2DistSqr) {
-				return 0;
-			} else {
-				return -1;
-			}
-		});
-		
-		double y = center.y;
-		
-		for (Vec2i block : affectedBlocks) {
-			BlockPos bp = new BlockPos(block.x, y, block.y);
-			BlockState bs = level.getBlockState(bp);
-			BlockPos aboveBp = bp.above();
-			BlockState aboveState = level.getBlockState(aboveBp);
-			
-			if (canTransferShockWave(level, aboveBp, aboveState)) {
-				BlockPos aboveTwoBp = aboveBp.above();
-				BlockState aboveTwoState = level.getBlockState(aboveTwoBp);
+		while (tEntry < 1.0D) {
+			if (Math.min(Math.min(tMaxX, tMaxZ), 1.0D) > tEntry) {
+				BlockPos bp = new BlockPos(cellX, y, cellZ);
+				BlockState bs = chunkCache.getBlockState(bp);
+				BlockPos aboveBp = bp.above();
+				BlockState aboveState = chunkCache.getBlockState(aboveBp);
 				
-				if (!canTransferShockWave(level, aboveTwoBp, aboveTwoState)) {
-					y++;
-					bp = aboveBp;
-					bs = aboveState;
+				if (canTransferShockWave(level, aboveBp, aboveState)) {
+					BlockPos aboveTwoBp = aboveBp.above();
+					BlockState aboveTwoState = chunkCache.getBlockState(aboveTwoBp);
+					
+					if (!canTransferShockWave(level, aboveTwoBp, aboveTwoState)) {
+						y++;
+						bp = aboveBp;
+						bs = aboveState;
+					} else {
+						return;
+					}
 				} else {
-					break;
-				}
-			} else {
-				if (!level.isClientSide && aboveState.getCollisionShape(level, aboveBp, CollisionContext.empty()).isEmpty() && level.getGameRules().getBoolean(GameRules.RULE_MOBGRIEFING)) {
-					level.destroyBlock(aboveBp, level.getGameRules().getBoolean(GameRules.RULE_DOBLOCKDROPS));
+					if (!level.isClientSide && aboveState.getCollisionShape(level, aboveBp, CollisionContext.empty()).isEmpty() && level.getGameRules().getBoolean(GameRules.RULE_MOBGRIEFING)) {
+						BlockState destroyingState = aboveState;
+						
+						//A deferred destruction skips blocks that changed in the meantime
+						CombatEffectScheduler.runOrDefer(level, () -> {
+							if (level.getBlockState(aboveBp) == destroyingState) {
+								level.destroyBlock(aboveBp, level.getGameRules().getBoolean(GameRules.RULE_DOBLOCKDROPS));
+							}
+						}, false);
+					}
 				}
-			}
-			
-			if (!canTransferShockWave(level, bp, bs)) {
-				BlockPos belowBp = bp.below();
-				BlockState belowState = level.getBlockState(belowBp);
 				
-				if (canTransferShockWave(level, belowBp, belowState)) {
-					y--;
-					bp = belowBp;
-					bs = belowState;
-				} else {
-					break;
-				}
-			}
-			
-			Vec3 blockCenter = new Vec3(bp.getX() + 0.5D, bp.getY(), bp.getZ() + 0.5D);
-			Vec3 centerToBlock = blockCenter.subtract(center);
-			double distance = centerToBlock.horizontalDistance();
-			
-			if (length < distance) {
-				continue;
-			}
-			
-			if (level.isClientSide) {
-				if (!canTransferShockWave(level, bp, bs) || bs instanceof FractureBlockState) {
-					continue;
+				if (!canTransferShockWave(level, bp, bs)) {
+					BlockPos belowBp = bp.below();
+					BlockState belowState = chunkCache.getBlockState(belowBp);
+					
+					if (canTransferShockWave(level, belowBp, belowState)) {
+						y--;
+						bp = belowBp;
+						bs = belowState;
+					} else {
+						return;
+					}
 				}
 				
-				Vec3 rotAxis = IMPACT_DIRECTION.cross(centerToBlock).normalize();
-				Vector3f axis = new Vector3f((float)rotAxis.x, (float)rotAxis.y, (float)rotAxis.z);
-				Vector3f translator = new Vector3f(0, Math.max(0.0F, (float)(distance / length) - 0.5F) * 0.5F, 0);
-				Quaternion rotator = axis.rotationDegrees((float)(distance / length) * 15.0F + level.random.nextFloat() * 10.0F - 5.0F);
-				
-				rotator.mul(Vector3f.XP.rotationDegrees(level.random.nextFloat() * 15.0F - 7.5F));
-				rotator.mul(Vector3f.YP.rotationDegrees(level.random.nextFloat() * 40.0F - 20.0F));
-				rotator.mul(Vector3f.ZP.rotationDegrees(level.random.nextFloat() * 15.0F - 7.5F));
-				int lifeTime = 30 + level.random.nextInt((int)length * 80);
-				double bouncing = Math.pow(distance, 2) * bounceExponentCoef;
+				Vec3 blockCenter = new Vec3(bp.getX() + 0.5D, bp.getY(), bp.getZ() + 0.5D);
+				Vec3 centerToBlock = blockCenter.subtract(center);
+				double distance = centerToBlock.horizontalDistance();
 				
-				FractureBlockState fractureBlockState = FractureBlock.getDefaultFractureBlockState(null);
-				fractureBlockState.setFractureInfo(bp, bs, translator, rotator, bouncing, lifeTime);
-				
-				level.setBlock(bp, fractureBlockState, 0);
-				
-				createParticle(level, bp, bs);
-			} else {
-				for (Entity entity : entitiesInArea) { 
-					boolean inSameY = bp.getY() + 1 >= entity.getY() && bp.getY() <= entity.getY();
-					
-					if (bp.getX() == entity.getBlockX() && inSameY && bp.getZ() == entity.getBlockZ()) {
-						if (!entityBeingHit.contains(entity)) {
-							entityBeingHit.add(entity);
+				if (length >= distance) {
+					if (level.isClientSide) {
+						if (canTransferShockWave(level, bp, bs) && !(bs instanceof FractureBlockState)) {
+							Vec3 rotAxis = IMPACT_DIRECTION.cross(centerToBlock).normalize();
+							Vector3f axis = new Vector3f((float)rotAxis.x, (float)rotAxis.y, (float)rotAxis.z);
+							Vector3f translator = new Vector3f(0, Math.max(0.0F, (float)(distance / length) - 0.5F) * 0.5F, 0);
+							Quaternion rotator = axis.rotationDegrees((float)(distance / length) * 15.0F + level.random.nextFloat() * 10.0F - 5.0F);
+							
+							rotator.mul(Vector3f.XP.rotationDegrees(level.random.nextFloat() * 15.0F - 7.5F));
+							rotator.mul(Vector3f.YP.rotationDegrees(level.random.nextFloat() * 40.0F - 20.0F));
+							rotator.mul(Vector3f.ZP.rotationDegrees(level.random.nextFloat() * 15.0F - 7.5F));
+							int lifeTime = 30 + level.random.nextInt((int)length * 80);
+							double bouncing = Math.pow(distance, 2) * bounceExponentCoef;
+							
+							createFracture(level, bp, bs, translator, rotator, bouncing, lifeTime);
+							createParticle(level, bp, bs);
+						}
+					} else if (entityColumns != null) {
+						List<Entity> column = entityColumns.get(BlockPos.asLong(bp.getX(), 0, bp.getZ()));
+						
+						if (column != null) {
+							Iterator<Entity> iterator = column.iterator();
+							
+							//Hit entities leave their column, so every entity is added once
+							while (iterator.hasNext()) {
+								Entity entity = iterator.next();
+								
+								if (bp.getY() + 1 >= entity.getY() && bp.getY() <= entity.getY()) {
+									entityBeingHit.add(entity);
+									iterator.remove();
+								}
+							}
 						}
 					}
 				}
 			}
+			
+			if (tMaxX < tMaxZ) {
+				cellX += stepX;
+				tEntry = tMaxX;
+				tMaxX += tDeltaX;
+			} else {
+				cellZ += stepZ;
+				tEntry = tMaxZ;
+				tMaxZ += tDeltaZ;
+			}
 		}
 	}
 	
+	/** Entities by block column, entities already hit are left out **/
+	private static Long2ObjectMap<List<Entity>> getEntityColumns(Level level, AABB area, List<Entity> entityBeingHit) {
+		Long2ObjectMap<List<Entity>> entityColumns = new Long2ObjectOpenHashMap<>();
+		
+		for (Entity entity : level.getEntities(null, area)) {
+			if (!entityBeingHit.contains(entity)) {
+				entityColumns.computeIfAbsent(BlockPos.asLong(entity.getBlockX(), 0, entity.getBlockZ()), (key) -> Lists.newArrayList()).add(entity);
+			}
+		}
+		
+		return entityColumns;
+	}
+	
+	@OnlyIn(Dist.CLIENT)
+	public static void createFracture(Level level, BlockPos bp, BlockState bs, Vector3f translate, Quaternion rotation, double bouncing, int lifeTime) {
+		FractureBlockStore.put(level, bp, bs, lifeTime);
+		level.setBlock(bp, FractureBlock.getDefaultFractureBlockState(null), 0);
+		
+		ClientEngine.getInstance().renderEngine.fractureDebrisRenderer.add((ClientLevel)level, bp, bs, translate, rotation, bouncing, lifeTime);
+	}
+	
 	@OnlyIn(Dist.CLIENT)
 	public static void createParticle(Level level, BlockPos bp, BlockState bs) {
 		for (int i = 0; i < 4; i += level.getRandom().nextInt(4)) {
@@ -166,9 +208,7 @@ public class LevelUtil {
 			TerrainParticle blockParticle = new TerrainParticle((ClientLevel)level, x, bp.getY() + 1, z, 0, 0, 0, bs, bp);
 			blockParticle.setParticleSpeed((Math.random() - 0.5D) * 0.3D, Math.random() * 0.5D, (Math.random() - 0.5D) * 0.3D);
 			blockParticle.setLifetime(10 + new Random().nextInt(60));
-			
-			Minecraft mc = Minecraft.getInstance();
-			mc.particleEngine.add(blockParticle);
+			ParticleBudget.add(ParticleBudget.Category.DEBRIS, blockParticle, 0.2F);
 		}
 	}
 	
@@ -209,7 +249,8 @@ public class LevelUtil {
 		radius = Math.max(0.5F, radius);
 		
 		if (!level.isClientSide) {
-			EpicFightNetworkManager.sendToAllPlayerTrackingThisChunkWithSelf(new SPFracture(center, radius, noSound, noParticle), level.getChunkAt(blockPos));
+			SPFracture fracturePacket = new SPFracture(center, radius, noSound, noParticle);
+			CombatEffectScheduler.runOrDefer(level, () -> EpicFightNetworkManager.sendToAllPlayerTrackingThisChunkWithSelf(fracturePacket, level.getChunkAt(blockPos)), true);
 		}
 		
 		int xFrom = (int)Math.floor(center.x - radius);
@@ -217,11 +258,13 @@ public class LevelUtil {
 		int zFrom = (int)Math.floor(center.z - radius);
 		int zTo = (int)Math.ceil(center.z + radius);
 		List<Entity> entityBeingHit = Lists.newArrayList();
+		ChunkCache chunkCache = new ChunkCache(level);
+		Long2ObjectMap<List<Entity>> entityColumns = level.isClientSide ? null : getEntityColumns(level, new AABB(xFrom, center.y - radius, zFrom, xTo + 1, center.y + radius, zTo + 1), entityBeingHit);
 		
 		for (int i = zFrom; i <= zTo; i++) {
 			for (int j = xFrom; j <= xTo; j += (i == zFrom || i == zTo) ? 1 : xTo - xFrom) {
 				Vec3 direction = new Vec3(j - center.x + 0.1D, 0.0D, i - center.z);
-				spreadShockwave(level, center, direction, radius, j, i, entityBeingHit);
+				spreadShockwave(level, center, direction, radius, chunkCache, entityColumns, entityBeingHit);
 			}
 		}
 		
@@ -259,17 +302,38 @@ public class LevelUtil {
 		return Block.isFaceFull(blockState.getCollisionShape(level, blockPos, CollisionContext.empty()), Direction.DOWN) || (blockState instanceof FractureBlockState);
 	}
 	
-	private static boolean isBlockOverlapLine(Vec2i vec2, Vec3 from, Vec3 to) {
-		return isLinesCross(vec2.x, vec2.y, vec2.x + 1, vec2.y, from.x, from.z, to.x, to.z)
-			|| isLinesCross(vec2.x, vec2.y, vec2.x, vec2.y + 1, from.x, from.z, to.x, to.z)
-			|| isLinesCross(vec2.x + 1, vec2.y, vec2.x + 1, vec2.y + 1, from.x, from.z, to.x, to.z)
-			|| isLinesCross(vec2.x, vec2.y + 1, vec2.x + 1, vec2.y + 1, from.x, from.z, to.x, to.z);
-	}
-	
-	private static boolean isLinesCross(double x1, double y1, double x2, double y2, double x3, double y3, double x4, double y4) {
-		double u = ((x4 - x3) * (y1 - y3) - (y4 - y3) * (x1 - x3)) / ((x2 - x1) * (y4 - y3) - (x4 - x3) * (y2 - y1));
-		double v = ((x2 - x1) * (y1 - y3) - (y2 - y1) * (x1 - x3)) / ((x2 - x1) * (y4 - y3) - (x4 - x3) * (y2 - y1));
+	/** Reads block states from the sections of the chunks a shockwave crosses, each chunk is looked up once **/
+	private static class ChunkCache {
+		private final Level level;
+		private final Long2ObjectMap<LevelChunk> chunks = new Long2ObjectOpenHashMap<>();
+		private long lastChunkKey = ChunkPos.INVALID_CHUNK_POS;
+		private LevelChunk lastChunk;
+		
+		ChunkCache(Level level) {
+			this.level = level;
+		}
 		
-		return 0 < u && u < 1 && 0 < v && v < 1;
+		BlockState getBlockState(BlockPos blockPos) {
+			if (this.level.isOutsideBuildHeight(blockPos)) {
+				return Blocks.VOID_AIR.defaultBlockState();
+			}
+			
+			int chunkX = SectionPos.blockToSectionCoord(blockPos.getX());
+			int chunkZ = SectionPos.blockToSectionCoord(blockPos.getZ());
+			long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+			
+			if (chunkKey != this.lastChunkKey) {
+				this.lastChunk = this.chunks.computeIfAbsent(chunkKey, (key) -> this.level.getChunk(chunkX, chunkZ));
+				this.lastChunkKey = chunkKey;
+			}
+			
+			LevelChunkSection section = this.lastChunk.getSection(this.lastChunk.getSectionIndex(blockPos.getY()));
+			
+			if (section.hasOnlyAir()) {
+				return Blocks.AIR.defaultBlockState();
+			}
+			
+			return section.getBlockState(blockPos.getX() & 15, blockPos.getY() & 15, blockPos.getZ() & 15);
+		}
 	}
 }
\ No newline at end of file
@@ -2,8 +2,6 @@ package yesman.epicfight.api.utils;
 
 import java.util.HashMap;
 
-import com.google.common.collect.ImmutableMap;
-
 import yesman.epicfight.api.utils.TypeFlexibleHashMap.TypeKey;
 
 @SuppressWarnings("serial")
@@ -25,9 +23,6 @@ public class TypeFlexibleHashMap<A extends TypeKey<?>> extends HashMap<A, Object
 	
 	@SuppressWarnings("unchecked")
 	public <T> T get(TypeKey<T> typeKey) {
-		
-		ImmutableMap.of();
-		
 		return (T)super.get(typeKey);
 	}
 	
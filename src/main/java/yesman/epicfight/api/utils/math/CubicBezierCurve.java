@@ -1,5 +1,6 @@
 package yesman.epicfight.api.utils.math;
 
+import java.util.Arrays;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -13,61 +14,20 @@ public class CubicBezierCurve {
 	 * https://towardsdatascience.com/b%C3%A9zier-interpolation-8033e9a262c2
 	 */
 	
-	private static List<Double> MATRIX_CONSTANTS = Lists.newArrayList();
+	private static double[] MATRIX_CONSTANTS = { 0.5D };
 	
-	static {
-		MATRIX_CONSTANTS.add(0.5D);
-	}
-	
-	private static void getBezierEquationCoefficients(List<Double> points, List<Double> aList, List<Double> bList) {
-		List<Double> results = Lists.newArrayList();
-		int size = points.size();
-		
-		results.add(points.get(0) + points.get(1) * 2);
-		
-		for (int idx = 1; idx < size - 2; idx++) {
-			results.add(points.get(idx) * 4 + points.get(idx + 1) * 2);
-		}
-		
-		results.add(points.get(size - 2) * 8 + points.get(size - 1));
-		
-		int storedConstsSize = MATRIX_CONSTANTS.size();
-		int coordSize = results.size();
-		
-		if (storedConstsSize < coordSize - 1) {
-			for (int i = 0; i < (coordSize - 1) - storedConstsSize; i++) {
-				double lastConst = MATRIX_CONSTANTS.get(storedConstsSize - 1);
-				MATRIX_CONSTANTS.add(1.0D / (4.0D - lastConst));
-			}
-		}
-		
-		List<Double> convertedResults = Lists.newArrayList();
-		
-		for (int idx = 0; idx < coordSize; idx++) {
-			if (idx == 0) {
-				convertedResults.add(results.get(idx) * 0.5D);
-			} else if (idx == coordSize - 1) {
-				convertedResults.add((results.get(idx) - 2 * convertedResults.get(idx - 1)) * (1.0D / (7.0D - MATRIX_CONSTANTS.get(idx - 1) * 2.0D)));
-			} else {
-				convertedResults.add((results.get(idx) - convertedResults.get(idx - 1)) * MATRIX_CONSTANTS.get(idx));
-			}
-		}
-		
-		for (int idx = coordSize - 1; idx >= 0; idx--) {
-			if (idx == coordSize - 1) {
-				aList.add(0, convertedResults.get(idx));
-			} else {
-				aList.add(0, convertedResults.get(idx) - convertedResults.get(idx + 1) * MATRIX_CONSTANTS.get(idx));
+	private static double[] getMatrixConstants(int size) {
+		if (MATRIX_CONSTANTS.length < size) {
+			double[] constants = Arrays.copyOf(MATRIX_CONSTANTS, size);
+			
+			for (int i = MATRIX_CONSTANTS.length; i < size; i++) {
+				constants[i] = 1.0D / (4.0D - constants[i - 1]);
 			}
+			
+			MATRIX_CONSTANTS = constants;
 		}
 		
-		for (int i = 0; i < coordSize; i++) {
-			if (i == coordSize - 1) {
-				bList.add((aList.get(i) + points.get(i + 1)) * 0.5D);
-			} else {
-				bList.add(2 * points.get(i + 1) - aList.get(i + 1));
-			}
-		}
+		return MATRIX_CONSTANTS;
 	}
 	
 	private static double cubicBezier(double start, double end, double a, double b, double t) {
@@ -95,51 +55,86 @@ public class CubicBezierCurve {
 		sliceEnd = Math.min(sliceEnd, points.size() - 1);
 		
 		int size = points.size();
-		List<Vec3> interpolatedPoints = Lists.newArrayList();
-		List<Double> x = Lists.newArrayList();
-		List<Double> y = Lists.newArrayList();
-		List<Double> z = Lists.newArrayList();
+		double[][] coords = new double[3][size];
+		double[][] interpolatedCoords = new double[3][Math.max(sliceEnd - sliceBegin, 0) * interpolatedResults + 1];
 		
 		for (int idx = 0; idx < size; idx++) {
-			x.add(points.get(idx).x);
-			y.add(points.get(idx).y);
-			z.add(points.get(idx).z);
+			coords[0][idx] = points.get(idx).x;
+			coords[1][idx] = points.get(idx).y;
+			coords[2][idx] = points.get(idx).z;
 		}
 		
-		List<Double> x_a = Lists.newArrayList();
-		List<Double> x_b = Lists.newArrayList();
-		List<Double> y_a = Lists.newArrayList();
-		List<Double> y_b = Lists.newArrayList();
-		List<Double> z_a = Lists.newArrayList();
-		List<Double> z_b = Lists.newArrayList();
+		int count = 0;
 		
-		getBezierEquationCoefficients(x, x_a, x_b);
-		getBezierEquationCoefficients(y, y_a, y_b);
-		getBezierEquationCoefficients(z, z_a, z_b);
+		for (int axis = 0; axis < 3; axis++) {
+			count = getBezierInterpolatedPoints(coords[axis], sliceBegin, sliceEnd, interpolatedResults, interpolatedCoords[axis]);
+		}
 		
-		for (int i = sliceBegin; i < sliceEnd; i++) {
-			if (interpolatedPoints.size() > 0) {
-				interpolatedPoints.remove(interpolatedPoints.size() - 1);
+		List<Vec3> interpolatedPoints = Lists.newArrayListWithCapacity(count);
+		
+		for (int i = 0; i < count; i++) {
+			interpolatedPoints.add(new Vec3(interpolatedCoords[0][i], interpolatedCoords[1][i], interpolatedCoords[2][i]));
+		}
+		
+		return interpolatedPoints;
+	}
+	
+	/**
+	 * Interpolates a single axis of the control points, {@link #getBezierInterpolatedPoints(List, int, int, int)} runs it for each axis
+	 * @param points : control point coordinates of the axis
+	 * @param dest : receives (sliceEnd - sliceBegin) * interpolatedResults + 1 coordinates
+	 * @return the number of coordinates written to dest
+	 */
+	public static int getBezierInterpolatedPoints(double[] points, int sliceBegin, int sliceEnd, int interpolatedResults, double[] dest) {
+		int size = points.length;
+		int coordSize = size - 1;
+		double[] constants = getMatrixConstants(coordSize);
+		double[] converted = new double[coordSize];
+		double[] a = new double[coordSize];
+		double[] b = new double[coordSize];
+		
+		for (int idx = 0; idx < coordSize; idx++) {
+			double result;
+			
+			if (idx == 0) {
+				result = points[0] + points[1] * 2;
+			} else if (idx == coordSize - 1) {
+				result = points[size - 2] * 8 + points[size - 1];
+			} else {
+				result = points[idx] * 4 + points[idx + 1] * 2;
 			}
 			
-			Vec3 start = points.get(i);
-			Vec3 end = points.get(i + 1);
-			double x_av = x_a.get(i);
-			double x_bv = x_b.get(i);
-			double y_av = y_a.get(i);
-			double y_bv = y_b.get(i);
-			double z_av = z_a.get(i);
-			double z_bv = z_b.get(i);
+			if (idx == 0) {
+				converted[idx] = result * 0.5D;
+			} else if (idx == coordSize - 1) {
+				converted[idx] = (result - 2 * converted[idx - 1]) * (1.0D / (7.0D - constants[idx - 1] * 2.0D));
+			} else {
+				converted[idx] = (result - converted[idx - 1]) * constants[idx];
+			}
+		}
+		
+		for (int idx = coordSize - 1; idx >= 0; idx--) {
+			a[idx] = idx == coordSize - 1 ? converted[idx] : converted[idx] - converted[idx + 1] * constants[idx];
+		}
+		
+		for (int i = 0; i < coordSize; i++) {
+			b[i] = i == coordSize - 1 ? (a[i] + points[i + 1]) * 0.5D : 2 * points[i + 1] - a[i + 1];
+		}
+		
+		sliceBegin = Math.max(sliceBegin, 0);
+		sliceEnd = Math.min(sliceEnd, size - 1);
+		int count = 0;
+		
+		for (int i = sliceBegin; i < sliceEnd; i++) {
+			if (count > 0) {
+				count--;
+			}
 			
 			for (int j = 0; j < interpolatedResults + 1; j++) {
-				double t = (double)j / (double)interpolatedResults;
-				
-				interpolatedPoints.add(new Vec3(cubicBezier(start.x, end.x, x_av, x_bv, t)
-											  , cubicBezier(start.y, end.y, y_av, y_bv, t)
-											  , cubicBezier(start.z, end.z, z_av, z_bv, t)));
+				dest[count++] = cubicBezier(points[i], points[i + 1], a[i], b[i], (double)j / (double)interpolatedResults);
 			}
 		}
 		
-		return interpolatedPoints;
+		return count;
 	}
 }
\ No newline at end of file
@@ -15,6 +15,8 @@ import net.minecraftforge.client.event.ScreenEvent.KeyboardKeyPressedEvent;
 import net.minecraftforge.client.event.ScreenEvent.MouseClickedEvent;
 import net.minecraftforge.client.event.ScreenEvent.MouseReleasedEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent.RightClickItem;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.common.Mod;
@@ -28,7 +30,7 @@ import yesman.epicfight.world.capabilities.provider.EntityPatchProvider;
 import yesman.epicfight.world.capabilities.provider.ItemCapabilityProvider;
 import yesman.epicfight.world.entity.eventlistener.PlayerEventListener.EventType;
 import yesman.epicfight.world.entity.eventlistener.RightClickItemEvent;
-import yesman.epicfight.world.level.block.FractureBlockState;
+import yesman.epicfight.world.level.block.FractureBlockStore;
 
 @OnlyIn(Dist.CLIENT)
 @Mod.EventBusSubscriber(modid = EpicFightMod.MODID, value = Dist.CLIENT)
@@ -132,6 +134,20 @@ public class ClientEvents {
 		ClientEngine.getInstance().renderEngine.battleModeUI.reset();
 	}
 	
+	@SubscribeEvent
+	public static void chunkUnloadEvent(ChunkEvent.Unload event) {
+		if (event.getWorld().isClientSide()) {
+			FractureBlockStore.unloadChunk(event.getWorld(), event.getChunk().getPos());
+		}
+	}
+	
+	@SubscribeEvent
+	public static void worldUnloadEvent(WorldEvent.Unload event) {
+		if (event.getWorld().isClientSide()) {
+			FractureBlockStore.unloadLevel(event.getWorld());
+		}
+	}
+	
 	@SubscribeEvent
 	public static void clientLogoutEvent(ClientPlayerNetworkEvent.LoggedOutEvent event) {
 		if (event.getPlayer() != null) {
@@ -142,6 +158,7 @@ public class ClientEvents {
 			ClientEngine.getInstance().renderEngine.clearCustomEntityRenerer();
 		}
 		
-		FractureBlockState.reset();
+		FractureBlockStore.reset();
+		ClientEngine.getInstance().renderEngine.fractureDebrisRenderer.clear();
 	}
 }
\ No newline at end of file
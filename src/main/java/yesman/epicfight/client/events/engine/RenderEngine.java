@@ -51,6 +51,7 @@ import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.client.event.RenderHandEvent;
 import net.minecraftforge.client.event.RenderLevelStageEvent;
 import net.minecraftforge.client.event.RenderLivingEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoader;
@@ -70,6 +71,7 @@ import yesman.epicfight.client.gui.screen.overlay.OverlayManager;
 import yesman.epicfight.client.input.EpicFightKeyMappings;
 import yesman.epicfight.client.renderer.AimHelperRenderer;
 import yesman.epicfight.client.renderer.FirstPersonRenderer;
+import yesman.epicfight.client.renderer.FractureDebrisRenderer;
 import yesman.epicfight.client.renderer.patched.entity.PCreeperRenderer;
 import yesman.epicfight.client.renderer.patched.entity.PDrownedRenderer;
 import yesman.epicfight.client.renderer.patched.entity.PEnderDragonRenderer;
@@ -115,6 +117,7 @@ public class RenderEngine {
 	public AimHelperRenderer aimHelper;
 	public final BattleModeGui battleModeUI = new BattleModeGui(Minecraft.getInstance());
 	public final BetaWarningMessage betaWarningMessage = new BetaWarningMessage(Minecraft.getInstance());
+	public final FractureDebrisRenderer fractureDebrisRenderer = new FractureDebrisRenderer();
 	public final Minecraft minecraft;
 	private Map<EntityType<?>, Supplier<PatchedEntityRenderer>> entityRendererProvider;
 	private Map<EntityType<?>, PatchedEntityRenderer> entityRendererCache;
@@ -638,8 +641,19 @@ public class RenderEngine {
 			}
 		}
 		
+		@SubscribeEvent
+		public static void clientTickEvent(TickEvent.ClientTickEvent event) {
+			if (event.phase == TickEvent.Phase.END && renderEngine.minecraft.level != null && !renderEngine.minecraft.isPaused()) {
+				renderEngine.fractureDebrisRenderer.tick(renderEngine.minecraft.level);
+			}
+		}
+		
 		@SubscribeEvent
 		public static void renderWorldLast(RenderLevelStageEvent event) {
+			if (event.getStage() == RenderLevelStageEvent.Stage.AFTER_CUTOUT_BLOCKS) {
+				renderEngine.fractureDebrisRenderer.render(event.getPoseStack(), event.getFrustum(), event.getPartialTick());
+			}
+			
 			if (renderEngine.zoomCount > 0 && renderEngine.minecraft.options.getCameraType() == CameraType.THIRD_PERSON_BACK &&
 					event.getStage() == RenderLevelStageEvent.Stage.AFTER_PARTICLES) {
 				renderEngine.aimHelper.doRender(event.getPoseStack(), event.getPartialTick());
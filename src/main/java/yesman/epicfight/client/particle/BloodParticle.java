@@ -52,7 +52,7 @@ public class BloodParticle extends TextureSheetParticle {
 			particle.pickSprite(this.spriteSet);
 			float yellow = EpicFightMod.CLIENT_INGAME_CONFIG.offBloodEffects.getValue() ? Mth.clamp(random.nextFloat(), 0.6F, 0.4F) : 0.0F;
 			particle.setColor(Mth.clamp(random.nextFloat(), 0.6F, 0.4F), yellow, 0.0F);
-			return particle;
+			return ParticleBudget.admit(ParticleBudget.Category.BLOOD, particle, mass);
 		}
 	}
 }
\ No newline at end of file
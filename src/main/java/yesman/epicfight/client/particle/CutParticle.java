@@ -41,7 +41,7 @@ public class CutParticle extends HitParticle {
 				return null;
 			}
 			CutParticle particle = new CutParticle(worldIn, x, y, z, spriteSet);
-			return particle;
+			return ParticleBudget.admit(ParticleBudget.Category.HIT, particle, 1.0F);
 		}
 	}
 }
\ No newline at end of file
@@ -134,7 +134,7 @@ public class DustParticle extends TextureSheetParticle {
 		public Particle createParticle(SimpleParticleType typeIn, ClientLevel worldIn, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed) {
 			DustParticle dustParticle = new DustParticle(worldIn, x, y, z, xSpeed, ySpeed, zSpeed, DustParticle.PhysicsType.EXPANSIVE);
 			dustParticle.pickSprite(this.sprite);
-			return dustParticle;
+			return ParticleBudget.admit(ParticleBudget.Category.DUST, dustParticle, 0.1F);
 		}
 	}
 	
@@ -150,7 +150,7 @@ public class DustParticle extends TextureSheetParticle {
 		public Particle createParticle(SimpleParticleType typeIn, ClientLevel worldIn, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed) {
 			DustParticle dustParticle = new DustParticle(worldIn, x, y, z, xSpeed, ySpeed, zSpeed, DustParticle.PhysicsType.CONTRACTIVE);
 			dustParticle.pickSprite(this.sprite);
-			return dustParticle;
+			return ParticleBudget.admit(ParticleBudget.Category.DUST, dustParticle, 0.1F);
 		}
 	}
 	
@@ -166,7 +166,7 @@ public class DustParticle extends TextureSheetParticle {
 		public Particle createParticle(SimpleParticleType typeIn, ClientLevel worldIn, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed) {
 			DustParticle dustParticle = new DustParticle(worldIn, x, y, z, xSpeed, ySpeed, zSpeed, DustParticle.PhysicsType.NORMAL);
 			dustParticle.pickSprite(this.sprite);
-			return dustParticle;
+			return ParticleBudget.admit(ParticleBudget.Category.DUST, dustParticle, 0.1F);
 		}
 	}
 	
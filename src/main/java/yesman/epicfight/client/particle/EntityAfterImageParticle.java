@@ -9,7 +9,6 @@ import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.Particle;
 import net.minecraft.client.particle.ParticleProvider;
 import net.minecraft.client.particle.ParticleRenderType;
-import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.core.particles.SimpleParticleType;
 import net.minecraft.world.entity.Entity;
 import net.minecraftforge.api.distmarker.Dist;
@@ -24,13 +23,13 @@ import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
 
 @OnlyIn(Dist.CLIENT)
 public class EntityAfterImageParticle extends CustomModelParticle<AnimatedMesh> {
-	private OpenMatrix4f[] poseMatrices;
+	private final float[] skinnedPositions;
 	private Matrix4f modelMatrix;
 	private float alphaO;
 	
 	public EntityAfterImageParticle(ClientLevel level, double x, double y, double z, double xd, double yd, double zd, AnimatedMesh particleMesh, OpenMatrix4f[] matrices, Matrix4f modelMatrix) {
 		super(level, x, y, z, xd, yd, zd, particleMesh);
-		this.poseMatrices = matrices;
+		this.skinnedPositions = particleMesh.getSkinnedPositions(matrices);
 		this.modelMatrix = modelMatrix;
 		this.lifetime = 20;
 		this.rCol = 1.0F;
@@ -53,7 +52,7 @@ public class EntityAfterImageParticle extends CustomModelParticle<AnimatedMesh>
 		this.setupPoseStack(poseStack, camera, partialTicks);
 		poseStack.mulPoseMatrix(this.modelMatrix);
 		float alpha = this.alphaO + (this.alpha - this.alphaO) * partialTicks;
-		this.particleMesh.drawWithPoseNoTexture(poseStack, vertexConsumer, this.getLightColor(partialTicks), this.rCol, this.gCol, this.bCol, alpha, OverlayTexture.NO_OVERLAY, this.poseMatrices);
+		AnimatedMesh.drawSkinnedNoTexture(poseStack, vertexConsumer, this.skinnedPositions, this.getLightColor(partialTicks), this.rCol, this.gCol, this.bCol, alpha);
 	}
 	
 	@Override
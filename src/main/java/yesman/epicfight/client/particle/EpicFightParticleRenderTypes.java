@@ -1,7 +1,11 @@
 package yesman.epicfight.client.particle;
 
+import java.util.Map;
+
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
 
+import com.google.common.collect.Maps;
 import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.BufferBuilder;
@@ -12,8 +16,10 @@ import com.mojang.blaze3d.vertex.VertexFormat;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.particle.ParticleRenderType;
 import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.texture.AbstractTexture;
 import net.minecraft.client.renderer.texture.TextureAtlas;
 import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 @SuppressWarnings( {"deprecation"} )
@@ -90,8 +96,33 @@ public class EpicFightParticleRenderTypes {
 		}
 	};
 	
-	public static final ParticleRenderType TRAIL = new ParticleRenderType() {
+	private static final Map<ResourceLocation, ParticleRenderType> TRAIL_TYPES = Maps.newHashMap();
+	
+	/** Binds no texture, particles of this type bind their own before drawing. Use {@link #trail(ResourceLocation)} **/
+	@Deprecated
+	public static final ParticleRenderType TRAIL = new TrailRenderType(null);
+	
+	/** Trails are grouped by texture so that each group binds its texture once and is drawn in a single call **/
+	public static ParticleRenderType trail(ResourceLocation texture) {
+		return TRAIL_TYPES.computeIfAbsent(texture, TrailRenderType::new);
+	}
+	
+	private static class TrailRenderType implements ParticleRenderType {
+		private final ResourceLocation texture;
+		
+		private TrailRenderType(ResourceLocation texture) {
+			this.texture = texture;
+		}
+		
 		public void begin(BufferBuilder bufferBuilder, TextureManager textureManager) {
+			if (this.texture != null) {
+				AbstractTexture abstracttexture = textureManager.getTexture(this.texture);
+				RenderSystem.bindTexture(abstracttexture.getId());
+				RenderSystem.texParameter(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+				RenderSystem.texParameter(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+				RenderSystem.setShaderTexture(0, abstracttexture.getId());
+			}
+			
 			RenderSystem.enableBlend();
 			RenderSystem.disableCull();
 		    RenderSystem.blendFunc(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
@@ -112,9 +143,9 @@ public class EpicFightParticleRenderTypes {
 		
 		@Override
 		public String toString() {
-			return "EPICFIGHT:TRAIL";
+			return this.texture == null ? "EPICFIGHT:TRAIL" : "EPICFIGHT:TRAIL[" + this.texture + "]";
 		}
-	};
+	}
 	
 	public static final ParticleRenderType TRANSLUCENT_GLOWING = new ParticleRenderType() {
 		public void begin(BufferBuilder bufferBuilder, TextureManager textureManager) {
@@ -33,12 +33,20 @@ public class GroundSlamParticle extends NoRenderParticle {
 			Particle blockParticle = new TerrainParticle(level, x + positionVec.x, y, z + positionVec.z, 0, 0, 0, blockstate, blockpos);
 			blockParticle.setParticleSpeed((moveVec.x + (Math.random() - 0.5)) * 0.3D, (Math.random()) * 0.5D, (moveVec.z + (Math.random() - 0.5)) * 0.3D);
 			blockParticle.setLifetime(60 + (new Random().nextInt(20)));
-			Particle smokeParticle = mc.particleEngine.createParticle(ParticleTypes.CAMPFIRE_COSY_SMOKE, x + positionVec.x * 0.5D, y + 1.5D, z + positionVec.z * 0.5D, 0, 0, 0); 
-			smokeParticle.setParticleSpeed(moveVec.x * 0.1D, Math.random() * 0.05D, moveVec.z * 0.1D);
-			smokeParticle.scale(3.0F);
-			smokeParticle.setAlpha(0.33F);
-			mc.particleEngine.add(blockParticle);
-			mc.particleEngine.add(smokeParticle);
+			ParticleBudget.add(ParticleBudget.Category.DEBRIS, blockParticle, 0.2F);
+			
+			//createParticle already adds the particle to the engine, so it is removed when the budget rejects it
+			Particle smokeParticle = mc.particleEngine.createParticle(ParticleTypes.CAMPFIRE_COSY_SMOKE, x + positionVec.x * 0.5D, y + 1.5D, z + positionVec.z * 0.5D, 0, 0, 0);
+			
+			if (smokeParticle != null) {
+				smokeParticle.setParticleSpeed(moveVec.x * 0.1D, Math.random() * 0.05D, moveVec.z * 0.1D);
+				smokeParticle.scale(3.0F);
+				smokeParticle.setAlpha(0.33F);
+				
+				if (ParticleBudget.admit(ParticleBudget.Category.SMOKE, smokeParticle, 1.5F) == null) {
+					smokeParticle.remove();
+				}
+			}
 		}
 	}
 	
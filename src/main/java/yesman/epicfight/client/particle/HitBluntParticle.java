@@ -39,7 +39,7 @@ public class HitBluntParticle extends HitParticle {
 		@Override
 		public Particle createParticle(SimpleParticleType typeIn, ClientLevel worldIn, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed) {
 			HitBluntParticle particle = new HitBluntParticle(worldIn, x, y, z, xSpeed, ySpeed, zSpeed, this.spriteSet);
-			return particle;
+			return ParticleBudget.admit(ParticleBudget.Category.HIT, particle, 1.0F);
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package yesman.epicfight.client.particle;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import yesman.epicfight.main.EpicFightMod;
+
+/**
+ * Limits the number of live combat particles per category and in total.
+ * Particles beyond the cull distance are dropped. Once a cap is half full, small and distant particles are dropped first
+ * and the admitted ones live shorter, so the effect thins out instead of disappearing at once.
+ */
+@OnlyIn(Dist.CLIENT)
+public class ParticleBudget {
+	private static final float DEGRADE_THRESHOLD = 0.5F;
+	private static final float FULL_COVERAGE = 0.05F;
+	private static final float MIN_LIFETIME_SCALE = 0.5F;
+	private static final int EXPIRY_MARGIN = 20;
+	private static final Map<Category, Deque<TrackedParticle>> LIVE_PARTICLES = new EnumMap<>(Category.class);
+	private static final Random RANDOM = new Random();
+	private static Level trackedLevel;
+	private static long pruneTick = Long.MIN_VALUE;
+	private static int totalCount;
+	
+	static {
+		for (Category category : Category.values()) {
+			LIVE_PARTICLES.put(category, new ArrayDeque<>());
+		}
+	}
+	
+	/**
+	 * @param size : approximate world size of the particle, used to estimate the screen coverage
+	 * @return the particle if admitted, null otherwise
+	 */
+	public static <P extends Particle> P admit(Category category, P particle, float size) {
+		Minecraft mc = Minecraft.getInstance();
+		
+		if (particle == null || mc.level == null) {
+			return particle;
+		}
+		
+		prune(mc.level);
+		
+		Vec3 position = particle.getBoundingBox().getCenter();
+		double distance = mc.gameRenderer.getMainCamera().getPosition().distanceTo(position);
+		
+		if (distance > EpicFightMod.CLIENT_INGAME_CONFIG.particleCullDistance.getValue()) {
+			return null;
+		}
+		
+		float load = getLoad(category);
+		
+		if (load >= 1.0F) {
+			return null;
+		}
+		
+		float pressure = Math.max(load - DEGRADE_THRESHOLD, 0.0F) / (1.0F - DEGRADE_THRESHOLD);
+		
+		if (pressure > 0.0F) {
+			float importance = Mth.clamp(size / (float)Math.max(distance, 1.0D) / FULL_COVERAGE, 0.0F, 1.0F);
+			
+			if (RANDOM.nextFloat() > 1.0F - pressure * (1.0F - importance)) {
+				return null;
+			}
+			
+			particle.setLifetime(Math.max((int)(particle.getLifetime() * (1.0F - pressure * (1.0F - MIN_LIFETIME_SCALE))), 1));
+		}
+		
+		LIVE_PARTICLES.get(category).add(new TrackedParticle(particle, mc.level.getGameTime() + particle.getLifetime() + EXPIRY_MARGIN));
+		totalCount++;
+		
+		return particle;
+	}
+	
+	/** Admits and adds a particle that is not created through a particle provider **/
+	public static void add(Category category, Particle particle, float size) {
+		if (admit(category, particle, size) != null) {
+			Minecraft.getInstance().particleEngine.add(particle);
+		}
+	}
+	
+	private static float getLoad(Category category) {
+		float typeLoad = LIVE_PARTICLES.get(category).size() / (float)EpicFightMod.CLIENT_INGAME_CONFIG.maxParticlesPerType.getValue();
+		float totalLoad = totalCount / (float)EpicFightMod.CLIENT_INGAME_CONFIG.maxParticles.getValue();
+		
+		return Math.max(typeLoad, totalLoad);
+	}
+	
+	/** Particles the engine drops without removing them, on level change or eviction, are released by level or by their expected expiry **/
+	private static void prune(Level level) {
+		long gameTime = level.getGameTime();
+		
+		if (trackedLevel != level) {
+			trackedLevel = level;
+			LIVE_PARTICLES.values().forEach(Deque::clear);
+		} else if (pruneTick == gameTime) {
+			return;
+		}
+		
+		pruneTick = gameTime;
+		totalCount = 0;
+		
+		for (Deque<TrackedParticle> particles : LIVE_PARTICLES.values()) {
+			particles.removeIf((tracked) -> !tracked.particle.isAlive() || tracked.expireTick < gameTime);
+			totalCount += particles.size();
+		}
+	}
+	
+	private static class TrackedParticle {
+		final Particle particle;
+		final long expireTick;
+		
+		TrackedParticle(Particle particle, long expireTick) {
+			this.particle = particle;
+			this.expireTick = expireTick;
+		}
+	}
+	
+	public static enum Category {
+		HIT, BLOOD, DUST, DEBRIS, SMOKE, SPLASH
+	}
+}
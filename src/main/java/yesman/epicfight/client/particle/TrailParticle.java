@@ -1,29 +1,21 @@
 package yesman.epicfight.client.particle;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-import org.lwjgl.opengl.GL11;
-import org.lwjgl.opengl.GL12;
-
-import com.google.common.collect.Lists;
-import com.mojang.blaze3d.systems.RenderSystem;
+import com.google.common.collect.Maps;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
-import com.mojang.math.Matrix4f;
-import com.mojang.math.Quaternion;
-import com.mojang.math.Vector4f;
 
 import net.minecraft.client.Camera;
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.Particle;
 import net.minecraft.client.particle.ParticleProvider;
 import net.minecraft.client.particle.ParticleRenderType;
 import net.minecraft.client.particle.SpriteSet;
 import net.minecraft.client.particle.TextureSheetParticle;
-import net.minecraft.client.renderer.texture.AbstractTexture;
-import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.core.Direction;
 import net.minecraft.core.particles.SimpleParticleType;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
@@ -49,12 +41,19 @@ import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
 
 @OnlyIn(Dist.CLIENT)
 public class TrailParticle extends TextureSheetParticle {
+	private static final Map<LivingEntityPatch<?>, JointTransforms> JOINT_TRANSFORMS = Maps.newHashMap();
+	
 	private final Joint joint;
 	private final TrailInfo trailInfo;
 	private final StaticAnimation animation;
 	private final LivingEntityPatch<?> entitypatch;
-	private final List<TrailEdge> invisibleTrailEdges;
-	private final List<TrailEdge> visibleTrailEdges;
+	private final TrailEdges visibleTrailEdges = new TrailEdges(16);
+	private final double[] controlPoints = new double[4];
+	private final double[][] interpolatedPoints = new double[6][];
+	private final double[][] bezierEdges = new double[2][6];
+	private Vec3 invisibleEdgeStart;
+	private Vec3 invisibleEdgeEnd;
+	private int edgeTick;
 	private boolean animationEnd;
 	private float startEdgeCorrection = 0.0F;
 	
@@ -64,8 +63,6 @@ public class TrailParticle extends TextureSheetParticle {
 		this.joint = joint;
 		this.entitypatch = entitypatch;
 		this.animation = animation;
-		this.invisibleTrailEdges = Lists.newLinkedList();
-		this.visibleTrailEdges = Lists.newLinkedList();
 		this.hasPhysics = false;
 		this.trailInfo = trailInfo;
 		
@@ -76,36 +73,13 @@ public class TrailParticle extends TextureSheetParticle {
 		this.move(entityPos.x, entityPos.y + entitypatch.getOriginal().getEyeHeight(), entityPos.z);
 		this.setSpriteFromAge(spriteSet);
 		
-		Pose prevPose = this.entitypatch.getArmature().getPrevPose();
-		Pose middlePose = this.entitypatch.getArmature().getPose(0.5F);
-		Pose currentPose = this.entitypatch.getArmature().getCurrentPose();
-		Vec3 posOld = this.entitypatch.getOriginal().getPosition(0.0F);
-		Vec3 posMid = this.entitypatch.getOriginal().getPosition(0.5F);
-		Vec3 posCur = this.entitypatch.getOriginal().getPosition(1.0F);
-		
-		OpenMatrix4f prvmodelTf = OpenMatrix4f.createTranslation((float)posOld.x, (float)posOld.y, (float)posOld.z)
-										.mulBack(OpenMatrix4f.createRotatorDeg(180.0F, Vec3f.Y_AXIS)
-										.mulBack(this.entitypatch.getModelMatrix(0.0F)));
-		OpenMatrix4f middleModelTf = OpenMatrix4f.createTranslation((float)posMid.x, (float)posMid.y, (float)posMid.z)
-										.mulBack(OpenMatrix4f.createRotatorDeg(180.0F, Vec3f.Y_AXIS)
-										.mulBack(this.entitypatch.getModelMatrix(0.5F)));
-		OpenMatrix4f curModelTf = OpenMatrix4f.createTranslation((float)posCur.x, (float)posCur.y, (float)posCur.z)
-										.mulBack(OpenMatrix4f.createRotatorDeg(180.0F, Vec3f.Y_AXIS)
-										.mulBack(this.entitypatch.getModelMatrix(1.0F)));
-		
-		OpenMatrix4f prevJointTf = this.entitypatch.getArmature().getBindedTransformFor(prevPose, this.joint).mulFront(prvmodelTf);
-		OpenMatrix4f middleJointTf = this.entitypatch.getArmature().getBindedTransformFor(middlePose, this.joint).mulFront(middleModelTf);
-		OpenMatrix4f currentJointTf = this.entitypatch.getArmature().getBindedTransformFor(currentPose, this.joint).mulFront(curModelTf);
-		Vec3 prevStartPos = OpenMatrix4f.transform(prevJointTf, trailInfo.start);
-		Vec3 prevEndPos = OpenMatrix4f.transform(prevJointTf, trailInfo.end);
-		Vec3 middleStartPos = OpenMatrix4f.transform(middleJointTf, trailInfo.start);
-		Vec3 middleEndPos = OpenMatrix4f.transform(middleJointTf, trailInfo.end);
-		Vec3 currentStartPos = OpenMatrix4f.transform(currentJointTf, trailInfo.start);
-		Vec3 currentEndPos = OpenMatrix4f.transform(currentJointTf, trailInfo.end);
-		
-		this.invisibleTrailEdges.add(new TrailEdge(prevStartPos, prevEndPos, this.trailInfo.trailLifetime));
-		this.invisibleTrailEdges.add(new TrailEdge(middleStartPos, middleEndPos, this.trailInfo.trailLifetime));
-		this.invisibleTrailEdges.add(new TrailEdge(currentStartPos, currentEndPos, this.trailInfo.trailLifetime));
+		OpenMatrix4f currentJointTf = getJointTransform(entitypatch, entitypatch.getArmature().getCurrentPose(), joint, 1.0F);
+		this.invisibleEdgeStart = OpenMatrix4f.transform(currentJointTf, trailInfo.start);
+		this.invisibleEdgeEnd = OpenMatrix4f.transform(currentJointTf, trailInfo.end);
+		
+		for (int i = 0; i < this.interpolatedPoints.length; i++) {
+			this.interpolatedPoints[i] = new double[this.trailInfo.interpolateCount * 2 + 1];
+		}
 		
 		this.rCol = this.trailInfo.rCol;
 		this.gCol = this.trailInfo.gCol;
@@ -115,7 +89,8 @@ public class TrailParticle extends TextureSheetParticle {
 	@Override
 	public void tick() {
 		AnimationPlayer animPlayer = this.entitypatch.getAnimator().getPlayerFor(this.animation);
-		this.visibleTrailEdges.removeIf(v -> !v.isAlive());
+		this.edgeTick++;
+		this.visibleTrailEdges.expire(this.edgeTick);
 		
 		if (this.animationEnd) {
 			if (this.lifetime-- == 0) {
@@ -148,84 +123,50 @@ public class TrailParticle extends TextureSheetParticle {
 		}
 		
 		TrailInfo trailInfo = this.trailInfo;
-		Pose prevPose = this.entitypatch.getArmature().getPrevPose();
-		Pose middlePose = this.entitypatch.getArmature().getPose(0.5F);
-		Pose currentPose = this.entitypatch.getArmature().getCurrentPose();
-		Vec3 posOld = this.entitypatch.getOriginal().getPosition(0.0F);
-		Vec3 posMid = this.entitypatch.getOriginal().getPosition(0.5F);
-		Vec3 posCur = this.entitypatch.getOriginal().getPosition(1.0F);
-		
-		OpenMatrix4f prvmodelTf = OpenMatrix4f.createTranslation((float)posOld.x, (float)posOld.y, (float)posOld.z)
-										.mulBack(OpenMatrix4f.createRotatorDeg(180.0F, Vec3f.Y_AXIS)
-										.mulBack(this.entitypatch.getModelMatrix(0.0F)));
-		OpenMatrix4f middleModelTf = OpenMatrix4f.createTranslation((float)posMid.x, (float)posMid.y, (float)posMid.z)
-										.mulBack(OpenMatrix4f.createRotatorDeg(180.0F, Vec3f.Y_AXIS)
-										.mulBack(this.entitypatch.getModelMatrix(0.5F)));
-		OpenMatrix4f curModelTf = OpenMatrix4f.createTranslation((float)posCur.x, (float)posCur.y, (float)posCur.z)
-										.mulBack(OpenMatrix4f.createRotatorDeg(180.0F, Vec3f.Y_AXIS)
-										.mulBack(this.entitypatch.getModelMatrix(1.0F)));
-		
-		OpenMatrix4f prevJointTf = this.entitypatch.getArmature().getBindedTransformFor(prevPose, this.joint).mulFront(prvmodelTf);
-		OpenMatrix4f middleJointTf = this.entitypatch.getArmature().getBindedTransformFor(middlePose, this.joint).mulFront(middleModelTf);
-		OpenMatrix4f currentJointTf = this.entitypatch.getArmature().getBindedTransformFor(currentPose, this.joint).mulFront(curModelTf);
-		Vec3 prevStartPos = OpenMatrix4f.transform(prevJointTf, trailInfo.start);
-		Vec3 prevEndPos = OpenMatrix4f.transform(prevJointTf, trailInfo.end);
-		Vec3 middleStartPos = OpenMatrix4f.transform(middleJointTf, trailInfo.start);
-		Vec3 middleEndPos = OpenMatrix4f.transform(middleJointTf, trailInfo.end);
-		Vec3 currentStartPos = OpenMatrix4f.transform(currentJointTf, trailInfo.start);
-		Vec3 currentEndPos = OpenMatrix4f.transform(currentJointTf, trailInfo.end);
-		
-		List<Vec3> finalStartPositions;
-		List<Vec3> finalEndPositions;
-		boolean visibleTrail;
+		OpenMatrix4f[] jointTransforms = getCachedJointTransforms(this.entitypatch, this.joint);
+		Vec3 middleStartPos = OpenMatrix4f.transform(jointTransforms[1], trailInfo.start);
+		Vec3 middleEndPos = OpenMatrix4f.transform(jointTransforms[1], trailInfo.end);
 		
 		if (isTrailInvisible) {
-			finalStartPositions = Lists.newArrayList();
-			finalEndPositions = Lists.newArrayList();
-			finalStartPositions.add(prevStartPos);
-			finalStartPositions.add(middleStartPos);
-			finalEndPositions.add(prevEndPos);
-			finalEndPositions.add(middleEndPos);
-			
-			this.invisibleTrailEdges.clear();
-			visibleTrail = false;
+			this.invisibleEdgeStart = middleStartPos;
+			this.invisibleEdgeEnd = middleEndPos;
+			return;
+		}
+		
+		Vec3 currentStartPos = OpenMatrix4f.transform(jointTransforms[2], trailInfo.start);
+		Vec3 currentEndPos = OpenMatrix4f.transform(jointTransforms[2], trailInfo.end);
+		double[] edge1 = this.bezierEdges[0];
+		double[] edge2 = this.bezierEdges[1];
+		
+		if (isFirstTrail) {
+			Vec3 prevStartPos = OpenMatrix4f.transform(jointTransforms[0], trailInfo.start);
+			Vec3 prevEndPos = OpenMatrix4f.transform(jointTransforms[0], trailInfo.end);
+			setEdge(edge1, this.invisibleEdgeStart, this.invisibleEdgeEnd);
+			setEdge(edge2, prevStartPos, prevEndPos);
 		} else {
-			List<Vec3> startPosList = Lists.newArrayList();
-			List<Vec3> endPosList = Lists.newArrayList();
-			TrailEdge edge1;
-			TrailEdge edge2;
-			
-			if (isFirstTrail) {
-				int lastIdx = this.invisibleTrailEdges.size() - 1;
-				edge1 = this.invisibleTrailEdges.get(lastIdx);
-				edge2 = new TrailEdge(prevStartPos, prevEndPos, -1);
-			} else {
-				edge1 = this.visibleTrailEdges.get(this.visibleTrailEdges.size() - (this.trailInfo.interpolateCount / 2 + 1));
-				edge2 = this.visibleTrailEdges.get(this.visibleTrailEdges.size() - 1);
-				edge2.lifetime++;
-			}
-			
-			startPosList.add(edge1.start);
-			endPosList.add(edge1.end);
-			startPosList.add(edge2.start);
-			endPosList.add(edge2.end);
-			startPosList.add(middleStartPos);
-			endPosList.add(middleEndPos);
-			startPosList.add(currentStartPos);
-			endPosList.add(currentEndPos);
-			
-			finalStartPositions = CubicBezierCurve.getBezierInterpolatedPoints(startPosList, 1, 3, this.trailInfo.interpolateCount);
-			finalEndPositions = CubicBezierCurve.getBezierInterpolatedPoints(endPosList, 1, 3, this.trailInfo.interpolateCount);
-			
-			if (!isFirstTrail) {
-				finalStartPositions.remove(0);
-				finalEndPositions.remove(0);
-			}
-			
-			visibleTrail = true;
+			this.visibleTrailEdges.getEdge(Math.max(this.visibleTrailEdges.size() - (this.trailInfo.interpolateCount / 2 + 1), 0), edge1);
+			this.visibleTrailEdges.getEdge(this.visibleTrailEdges.size() - 1, edge2);
+			this.visibleTrailEdges.extendLast();
 		}
 		
-		this.makeTrailEdges(finalStartPositions, finalEndPositions, visibleTrail ? this.visibleTrailEdges : this.invisibleTrailEdges);
+		int count = 0;
+		
+		for (int axis = 0; axis < 6; axis++) {
+			Vec3 middle = axis < 3 ? middleStartPos : middleEndPos;
+			Vec3 current = axis < 3 ? currentStartPos : currentEndPos;
+			this.controlPoints[0] = edge1[axis];
+			this.controlPoints[1] = edge2[axis];
+			this.controlPoints[2] = middle.get(Direction.Axis.VALUES[axis % 3]);
+			this.controlPoints[3] = current.get(Direction.Axis.VALUES[axis % 3]);
+			count = CubicBezierCurve.getBezierInterpolatedPoints(this.controlPoints, 1, 3, this.trailInfo.interpolateCount, this.interpolatedPoints[axis]);
+		}
+		
+		int expireTick = this.edgeTick + this.trailInfo.trailLifetime;
+		double[][] points = this.interpolatedPoints;
+		
+		for (int i = isFirstTrail ? 0 : 1; i < count; i++) {
+			this.visibleTrailEdges.push(points[0][i], points[1][i], points[2][i], points[3][i], points[4][i], points[5][i], expireTick);
+		}
 	}
 	
 	@Override
@@ -234,20 +175,11 @@ public class TrailParticle extends TextureSheetParticle {
 			return;
 		}
 		
-		TextureManager texturemanager = Minecraft.getInstance().getTextureManager();
-        AbstractTexture abstracttexture = texturemanager.getTexture(this.trailInfo.texturePath);
-        RenderSystem.bindTexture(abstracttexture.getId());
-        RenderSystem.texParameter(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
-	    RenderSystem.texParameter(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
-	    RenderSystem.setShaderTexture(0, abstracttexture.getId());
-		
-		PoseStack poseStack = new PoseStack();
+		Vec3 cameraPos = camera.getPosition();
 		int light = this.getLightColor(partialTick);
-		this.setupPoseStack(poseStack, camera, partialTick);
-		Matrix4f matrix4f = poseStack.last().pose();
 		int edges = this.visibleTrailEdges.size() - 1;
-		boolean startFade = this.visibleTrailEdges.get(0).lifetime == 1;
-		boolean endFade = this.visibleTrailEdges.get(edges).lifetime == this.trailInfo.trailLifetime;
+		boolean startFade = this.visibleTrailEdges.getRemainingLifetime(0, this.edgeTick) == 1;
+		boolean endFade = this.visibleTrailEdges.getRemainingLifetime(edges, this.edgeTick) == this.trailInfo.trailLifetime;
 		float startEdge = (startFade ? this.trailInfo.interpolateCount * 2 * partialTick : 0.0F) + this.startEdgeCorrection;
 		float endEdge = endFade ? Math.min(edges - (this.trailInfo.interpolateCount * 2) * (1.0F - partialTick), edges - 1) : edges - 1;
 		float interval = 1.0F / (endEdge - startEdge);
@@ -266,25 +198,14 @@ public class TrailParticle extends TextureSheetParticle {
 		float to = -partialStartEdge + interval;
 		
 		for (int i = (int)(startEdge); i < (int)endEdge + 1; i++) {
-			TrailEdge e1 = this.visibleTrailEdges.get(i);
-			TrailEdge e2 = this.visibleTrailEdges.get(i + 1);
-			Vector4f pos1 = new Vector4f((float)e1.start.x, (float)e1.start.y, (float)e1.start.z, 1.0F);
-			Vector4f pos2 = new Vector4f((float)e1.end.x, (float)e1.end.y, (float)e1.end.z, 1.0F);
-			Vector4f pos3 = new Vector4f((float)e2.end.x, (float)e2.end.y, (float)e2.end.z, 1.0F);
-			Vector4f pos4 = new Vector4f((float)e2.start.x, (float)e2.start.y, (float)e2.start.z, 1.0F);
-			
-			pos1.transform(matrix4f);
-			pos2.transform(matrix4f);
-			pos3.transform(matrix4f);
-			pos4.transform(matrix4f);
-			
+			TrailEdges e = this.visibleTrailEdges;
 			float alphaFrom = Mth.clamp(from, 0.0F, 1.0F);
 			float alphaTo = Mth.clamp(to, 0.0F, 1.0F);
 			
-			vertexConsumer.vertex(pos1.x(), pos1.y(), pos1.z()).uv(from, 1.0F).color(this.rCol, this.gCol, this.bCol, this.alpha * alphaFrom * fading).uv2(light).endVertex();
-			vertexConsumer.vertex(pos2.x(), pos2.y(), pos2.z()).uv(from, 0.0F).color(this.rCol, this.gCol, this.bCol, this.alpha * alphaFrom * fading).uv2(light).endVertex();
-			vertexConsumer.vertex(pos3.x(), pos3.y(), pos3.z()).uv(to, 0.0F).color(this.rCol, this.gCol, this.bCol, this.alpha * alphaTo * fading).uv2(light).endVertex();
-			vertexConsumer.vertex(pos4.x(), pos4.y(), pos4.z()).uv(to, 1.0F).color(this.rCol, this.gCol, this.bCol, this.alpha * alphaTo * fading).uv2(light).endVertex();
+			vertexConsumer.vertex(e.get(i, 0) - cameraPos.x, e.get(i, 1) - cameraPos.y, e.get(i, 2) - cameraPos.z).uv(from, 1.0F).color(this.rCol, this.gCol, this.bCol, this.alpha * alphaFrom * fading).uv2(light).endVertex();
+			vertexConsumer.vertex(e.get(i, 3) - cameraPos.x, e.get(i, 4) - cameraPos.y, e.get(i, 5) - cameraPos.z).uv(from, 0.0F).color(this.rCol, this.gCol, this.bCol, this.alpha * alphaFrom * fading).uv2(light).endVertex();
+			vertexConsumer.vertex(e.get(i + 1, 3) - cameraPos.x, e.get(i + 1, 4) - cameraPos.y, e.get(i + 1, 5) - cameraPos.z).uv(to, 0.0F).color(this.rCol, this.gCol, this.bCol, this.alpha * alphaTo * fading).uv2(light).endVertex();
+			vertexConsumer.vertex(e.get(i + 1, 0) - cameraPos.x, e.get(i + 1, 1) - cameraPos.y, e.get(i + 1, 2) - cameraPos.z).uv(to, 1.0F).color(this.rCol, this.gCol, this.bCol, this.alpha * alphaTo * fading).uv2(light).endVertex();
 			
 			from += interval;
 			to += interval;
@@ -293,23 +214,88 @@ public class TrailParticle extends TextureSheetParticle {
 	
 	@Override
 	public ParticleRenderType getRenderType() {
-		return EpicFightParticleRenderTypes.TRAIL;
+		return EpicFightParticleRenderTypes.trail(this.trailInfo.texturePath);
 	}
 	
+	/** The camera relative space {@link #render} emits its vertices in **/
+	@Deprecated
 	protected void setupPoseStack(PoseStack poseStack, Camera camera, float partialTicks) {
-		Quaternion rotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
 		Vec3 vec3 = camera.getPosition();
-		float x = (float)-vec3.x();
-		float y = (float)-vec3.y();
-		float z = (float)-vec3.z();
+		poseStack.translate(-vec3.x(), -vec3.y(), -vec3.z());
+	}
+	
+	private static void setEdge(double[] edge, Vec3 start, Vec3 end) {
+		edge[0] = start.x;
+		edge[1] = start.y;
+		edge[2] = start.z;
+		edge[3] = end.x;
+		edge[4] = end.y;
+		edge[5] = end.z;
+	}
+	
+	private static OpenMatrix4f getJointTransform(LivingEntityPatch<?> entitypatch, Pose pose, Joint joint, float partialTicks) {
+		Vec3 pos = entitypatch.getOriginal().getPosition(partialTicks);
+		OpenMatrix4f modelTf = OpenMatrix4f.createTranslation((float)pos.x, (float)pos.y, (float)pos.z)
+									.mulBack(OpenMatrix4f.createRotatorDeg(180.0F, Vec3f.Y_AXIS)
+									.mulBack(entitypatch.getModelMatrix(partialTicks)));
 		
-		poseStack.translate(x, y, z);
-		poseStack.mulPose(rotation);
+		return entitypatch.getArmature().getBindedTransformFor(pose, joint).mulFront(modelTf);
 	}
 	
-	private void makeTrailEdges(List<Vec3> startPositions, List<Vec3> endPositions, List<TrailEdge> dest) {
-		for (int i = 0; i < startPositions.size(); i++) {
-			dest.add(new TrailEdge(startPositions.get(i), endPositions.get(i), this.trailInfo.trailLifetime));
+	/**
+	 * Previous, middle and current world transforms of a joint, shared by every trail of the entity.
+	 * Reused while the entity keeps the same pose, position and body rotation they were computed from.
+	 */
+	private static OpenMatrix4f[] getCachedJointTransforms(LivingEntityPatch<?> entitypatch, Joint joint) {
+		JointTransforms jointTransforms = JOINT_TRANSFORMS.get(entitypatch);
+		
+		if (jointTransforms == null || !jointTransforms.isComputedFrom(entitypatch)) {
+			if (jointTransforms == null) {
+				//Drop the entities that left the level along with the ones of the previous level
+				JOINT_TRANSFORMS.keySet().removeIf((patch) -> patch.getOriginal().isRemoved() || patch.getOriginal().level != entitypatch.getOriginal().level);
+			}
+			
+			jointTransforms = new JointTransforms(entitypatch);
+			JOINT_TRANSFORMS.put(entitypatch, jointTransforms);
+		}
+		
+		return jointTransforms.get(entitypatch, joint);
+	}
+	
+	@OnlyIn(Dist.CLIENT)
+	private static class JointTransforms {
+		private final Pose currentPose;
+		private final Vec3 position;
+		private final float yBodyRot;
+		private final float yBodyRotO;
+		private final Map<Joint, OpenMatrix4f[]> transforms = Maps.newHashMap();
+		private Pose middlePose;
+		
+		private JointTransforms(LivingEntityPatch<?> entitypatch) {
+			this.currentPose = entitypatch.getArmature().getCurrentPose();
+			this.position = entitypatch.getOriginal().position();
+			this.yBodyRot = entitypatch.getOriginal().yBodyRot;
+			this.yBodyRotO = entitypatch.getOriginal().yBodyRotO;
+		}
+		
+		/** The armature replaces its current pose and the entity its position vector whenever they change **/
+		private boolean isComputedFrom(LivingEntityPatch<?> entitypatch) {
+			return this.currentPose == entitypatch.getArmature().getCurrentPose() && this.position == entitypatch.getOriginal().position()
+					&& this.yBodyRot == entitypatch.getOriginal().yBodyRot && this.yBodyRotO == entitypatch.getOriginal().yBodyRotO;
+		}
+		
+		private OpenMatrix4f[] get(LivingEntityPatch<?> entitypatch, Joint joint) {
+			return this.transforms.computeIfAbsent(joint, (key) -> {
+				if (this.middlePose == null) {
+					this.middlePose = entitypatch.getArmature().getPose(0.5F);
+				}
+				
+				return new OpenMatrix4f[] {
+					getJointTransform(entitypatch, entitypatch.getArmature().getPrevPose(), joint, 0.0F),
+					getJointTransform(entitypatch, this.middlePose, joint, 0.5F),
+					getJointTransform(entitypatch, entitypatch.getArmature().getCurrentPose(), joint, 1.0F)
+				};
+			});
 		}
 	}
 	
@@ -354,19 +340,84 @@ public class TrailParticle extends TextureSheetParticle {
 		}
 	}
 	
-	private static class TrailEdge {
-		final Vec3 start;
-		final Vec3 end;
-		int lifetime;
-		
-		public TrailEdge(Vec3 start, Vec3 end, int lifetime) {
-			this.start = start;
-			this.end = end;
-			this.lifetime = lifetime;
+	/**
+	 * Ring buffer of trail edges over primitive arrays. Edges are pushed to the tail and expire from the head,
+	 * since every edge outlives the ones pushed before it.
+	 */
+	private static class TrailEdges {
+		private double[] coords;
+		private int[] expireTicks;
+		private int head;
+		private int size;
+		
+		TrailEdges(int capacity) {
+			this.coords = new double[capacity * 6];
+			this.expireTicks = new int[capacity];
+		}
+		
+		int size() {
+			return this.size;
+		}
+		
+		/** 0 ~ 2 : start position, 3 ~ 5 : end position **/
+		double get(int index, int component) {
+			return this.coords[this.toSlot(index) * 6 + component];
+		}
+		
+		void getEdge(int index, double[] dest) {
+			System.arraycopy(this.coords, this.toSlot(index) * 6, dest, 0, 6);
 		}
 		
-		boolean isAlive() {
-			return --this.lifetime > 0;
+		int getRemainingLifetime(int index, int tick) {
+			return this.expireTicks[this.toSlot(index)] - tick;
+		}
+		
+		void push(double startX, double startY, double startZ, double endX, double endY, double endZ, int expireTick) {
+			if (this.size == this.expireTicks.length) {
+				this.grow();
+			}
+			
+			int slot = this.toSlot(this.size);
+			int offset = slot * 6;
+			this.coords[offset] = startX;
+			this.coords[offset + 1] = startY;
+			this.coords[offset + 2] = startZ;
+			this.coords[offset + 3] = endX;
+			this.coords[offset + 4] = endY;
+			this.coords[offset + 5] = endZ;
+			this.expireTicks[slot] = expireTick;
+			this.size++;
+		}
+		
+		void extendLast() {
+			this.expireTicks[this.toSlot(this.size - 1)]++;
+		}
+		
+		void expire(int tick) {
+			while (this.size > 0 && this.expireTicks[this.head] <= tick) {
+				this.head = (this.head + 1) % this.expireTicks.length;
+				this.size--;
+			}
+		}
+		
+		private int toSlot(int index) {
+			return (this.head + index) % this.expireTicks.length;
+		}
+		
+		private void grow() {
+			int capacity = this.expireTicks.length;
+			double[] newCoords = new double[capacity * 12];
+			int[] newExpireTicks = new int[capacity * 2];
+			
+			for (int i = 0; i < this.size; i++) {
+				int slot = this.toSlot(i);
+				System.arraycopy(this.coords, slot * 6, newCoords, i * 6, 6);
+				newExpireTicks[i] = this.expireTicks[slot];
+			}
+			
+			this.coords = newCoords;
+			this.expireTicks = newExpireTicks;
+			this.head = 0;
 		}
 	}
 }
\ No newline at end of file
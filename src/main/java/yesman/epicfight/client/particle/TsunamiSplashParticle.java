@@ -43,7 +43,7 @@ public class TsunamiSplashParticle extends TextureSheetParticle {
 		}
 
 		public Particle createParticle(SimpleParticleType p_108440_, ClientLevel p_108441_, double p_108442_, double p_108443_, double p_108444_, double p_108445_, double p_108446_, double p_108447_) {
-			return new TsunamiSplashParticle(p_108441_, p_108442_, p_108443_, p_108444_, p_108445_, p_108446_, p_108447_, this.sprites);
+			return ParticleBudget.admit(ParticleBudget.Category.SPLASH, new TsunamiSplashParticle(p_108441_, p_108442_, p_108443_, p_108444_, p_108445_, p_108446_, p_108447_, this.sprites), 0.2F);
 		}
 	}
 }
\ No newline at end of file
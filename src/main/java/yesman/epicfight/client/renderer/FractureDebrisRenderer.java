@@ -0,0 +1,251 @@
+package yesman.epicfight.client.renderer;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Quaternion;
+import com.mojang.math.Vector3f;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.client.particle.TerrainParticle;
+import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.culling.Frustum;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.model.data.EmptyModelData;
+import yesman.epicfight.api.utils.math.MathUtils;
+import yesman.epicfight.client.particle.ParticleBudget;
+import yesman.epicfight.world.level.block.FractureBlockState;
+import yesman.epicfight.world.level.block.FractureBlockStore;
+
+/**
+ * Draws every fractured block of the level in one pass. Fractures are grouped by their original block state,
+ * the quads of each group are fetched once and only the transform, light and tint differ per fracture.
+ */
+@OnlyIn(Dist.CLIENT)
+public class FractureDebrisRenderer {
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final float TURN_BACK_TIME = 5.0F;
+	private static final long MODEL_SEED = 42L;
+	private static final double VIEW_DISTANCE_SQR = 64.0D * 64.0D;
+	private final Map<BlockState, DebrisGroup> groups = Maps.newHashMap();
+	private ClientLevel trackedLevel;
+	
+	public void add(ClientLevel level, BlockPos blockPos, BlockState originalBlockState, Vector3f translate, Quaternion rotation, double bouncing, int maxLifeTime) {
+		if (this.trackedLevel != level) {
+			this.clear();
+			this.trackedLevel = level;
+		}
+		
+		Debris debris = new Debris(blockPos.immutable(), translate, rotation, bouncing, maxLifeTime);
+		DebrisGroup group = this.groups.computeIfAbsent(originalBlockState, (blockState) -> new DebrisGroup(level, blockState));
+		group.updateLighting(level, debris);
+		group.instances.add(debris);
+	}
+	
+	public void tick(ClientLevel level) {
+		if (this.trackedLevel != level) {
+			this.clear();
+			this.trackedLevel = level;
+			return;
+		}
+		
+		Iterator<DebrisGroup> groupIterator = this.groups.values().iterator();
+		
+		while (groupIterator.hasNext()) {
+			DebrisGroup group = groupIterator.next();
+			Iterator<Debris> iterator = group.instances.iterator();
+			
+			while (iterator.hasNext()) {
+				Debris debris = iterator.next();
+				
+				//The block was changed by the server while it was fractured
+				if (!(level.getBlockState(debris.blockPos) instanceof FractureBlockState)) {
+					FractureBlockStore.remove(level, debris.blockPos);
+					iterator.remove();
+					continue;
+				}
+				
+				if (debris.maxLifeTime - debris.lifeTime < 10) {
+					Particle blockParticle = new TerrainParticle(level, debris.blockPos.getX(), debris.blockPos.getY(), debris.blockPos.getZ(), 0, 0, 0, group.blockState, debris.blockPos);
+					blockParticle.setParticleSpeed((Math.random() - 0.5D) * 0.3D, Math.random() * 0.5D, (Math.random() - 0.5D) * 0.3D);
+					blockParticle.setLifetime(10 + level.random.nextInt(60));
+					ParticleBudget.add(ParticleBudget.Category.DEBRIS, blockParticle, 0.2F);
+				}
+				
+				if (debris.lifeTime++ > debris.maxLifeTime) {
+					level.setBlock(debris.blockPos, group.blockState, 0);
+					FractureBlockStore.remove(level, debris.blockPos);
+					iterator.remove();
+					continue;
+				}
+				
+				group.updateLighting(level, debris);
+			}
+			
+			if (group.instances.isEmpty()) {
+				groupIterator.remove();
+			}
+		}
+		
+		FractureBlockStore.tick(level);
+	}
+	
+	/** Fractures farther than the old block entity view distance or outside the frustum are skipped **/
+	public void render(PoseStack poseStack, Frustum frustum, float partialTicks) {
+		if (this.groups.isEmpty()) {
+			return;
+		}
+		
+		Minecraft mc = Minecraft.getInstance();
+		Vec3 cameraPos = mc.gameRenderer.getMainCamera().getPosition();
+		MultiBufferSource.BufferSource bufferSource = mc.renderBuffers().bufferSource();
+		VertexConsumer vertexConsumer = bufferSource.getBuffer(RenderType.cutout());
+		
+		for (DebrisGroup group : this.groups.values()) {
+			for (Debris debris : group.instances) {
+				if (Vec3.atCenterOf(debris.blockPos).distanceToSqr(cameraPos) > VIEW_DISTANCE_SQR || !frustum.isVisible(debris.cullBox)) {
+					continue;
+				}
+				
+				poseStack.pushPose();
+				poseStack.translate(debris.blockPos.getX() - cameraPos.x + 0.5D, debris.blockPos.getY() - cameraPos.y + 0.5D, debris.blockPos.getZ() - cameraPos.z + 0.5D);
+				debris.transform(poseStack, partialTicks);
+				poseStack.translate(-0.5D, -0.5D, -0.5D);
+				
+				PoseStack.Pose pose = poseStack.last();
+				float r = (debris.tintColor >> 16 & 255) / 255.0F;
+				float g = (debris.tintColor >> 8 & 255) / 255.0F;
+				float b = (debris.tintColor & 255) / 255.0F;
+				
+				for (int i = 0; i < group.quads.length; i++) {
+					BakedQuad quad = group.quads[i];
+					float shade = group.shades[i];
+					
+					if (quad.isTinted()) {
+						vertexConsumer.putBulkData(pose, quad, r * shade, g * shade, b * shade, debris.lightColor, OverlayTexture.NO_OVERLAY);
+					} else {
+						vertexConsumer.putBulkData(pose, quad, shade, shade, shade, debris.lightColor, OverlayTexture.NO_OVERLAY);
+					}
+				}
+				
+				poseStack.popPose();
+			}
+		}
+		
+		bufferSource.endBatch(RenderType.cutout());
+	}
+	
+	public void clear() {
+		this.groups.clear();
+		this.trackedLevel = null;
+	}
+	
+	/** Quads of an original block state, shared by all of its fractures **/
+	private static class DebrisGroup {
+		final BlockState blockState;
+		final BakedQuad[] quads;
+		final float[] shades;
+		final int tintIndex;
+		final List<Debris> instances = Lists.newArrayList();
+		
+		DebrisGroup(ClientLevel level, BlockState blockState) {
+			BakedModel model = Minecraft.getInstance().getBlockRenderer().getBlockModel(blockState);
+			Random random = new Random();
+			List<BakedQuad> quads = Lists.newArrayList();
+			
+			for (Direction direction : DIRECTIONS) {
+				random.setSeed(MODEL_SEED);
+				quads.addAll(model.getQuads(blockState, direction, random, EmptyModelData.INSTANCE));
+			}
+			
+			random.setSeed(MODEL_SEED);
+			quads.addAll(model.getQuads(blockState, null, random, EmptyModelData.INSTANCE));
+			
+			int tintIndex = -1;
+			this.blockState = blockState;
+			this.quads = quads.toArray(new BakedQuad[0]);
+			this.shades = new float[this.quads.length];
+			
+			for (int i = 0; i < this.quads.length; i++) {
+				this.shades[i] = level.getShade(this.quads[i].getDirection(), this.quads[i].isShade());
+				
+				if (tintIndex < 0 && this.quads[i].isTinted()) {
+					tintIndex = this.quads[i].getTintIndex();
+				}
+			}
+			
+			this.tintIndex = tintIndex;
+		}
+		
+		void updateLighting(ClientLevel level, Debris debris) {
+			debris.lightColor = LevelRenderer.getLightColor(level, this.blockState, debris.blockPos.above());
+			
+			if (this.tintIndex >= 0) {
+				debris.tintColor = Minecraft.getInstance().getBlockColors().getColor(this.blockState, level, debris.blockPos, this.tintIndex);
+			}
+		}
+	}
+	
+	/** Per fracture instance data **/
+	private static class Debris {
+		final BlockPos blockPos;
+		final Vector3f translate;
+		final Quaternion rotation;
+		final double bouncing;
+		final int maxLifeTime;
+		final AABB cullBox;
+		int lifeTime;
+		int lightColor;
+		int tintColor = -1;
+		
+		Debris(BlockPos blockPos, Vector3f translate, Quaternion rotation, double bouncing, int maxLifeTime) {
+			this.blockPos = blockPos;
+			this.translate = translate;
+			this.rotation = rotation;
+			this.bouncing = bouncing;
+			this.maxLifeTime = maxLifeTime;
+			//Covers any rotation around the block center, the translation and the bounce
+			this.cullBox = new AABB(blockPos).inflate(Math.sqrt(translate.dot(translate)) + 0.5D).expandTowards(0.0D, bouncing, 0.0D);
+		}
+		
+		void transform(PoseStack poseStack, float partialTicks) {
+			Vector3f translate = this.translate;
+			Quaternion rotate = this.rotation;
+			
+			if (this.maxLifeTime <= this.lifeTime + TURN_BACK_TIME) {
+				float lerpAmount = Mth.clamp(partialTicks * (1.0F / TURN_BACK_TIME) + (TURN_BACK_TIME - (this.maxLifeTime - this.lifeTime)) * (1.0F / TURN_BACK_TIME), 0.0F, 1.0F);
+				translate = MathUtils.lerpMojangVector(this.translate, Vector3f.ZERO, lerpAmount);
+				rotate = MathUtils.lerpQuaternion(this.rotation, Quaternion.ONE, lerpAmount);
+			}
+			
+			double BOUNCE_MAX_HEIGHT = this.bouncing;
+			double TIME = Math.max(BOUNCE_MAX_HEIGHT * 8.0D, 8.0D);
+			double EXTENDER = 1 / Math.pow(TIME * 0.5, 2);
+			double MOVE_GRAPH = Math.sqrt(BOUNCE_MAX_HEIGHT / EXTENDER);
+			double bouncingAnimation = Math.max(-EXTENDER * Math.pow(this.lifeTime + partialTicks - MOVE_GRAPH, 2.0D) + BOUNCE_MAX_HEIGHT, 0.0D);
+			
+			poseStack.mulPose(rotate);
+			poseStack.translate(translate.x(), translate.y() + bouncingAnimation, translate.z());
+		}
+	}
+}
@@ -1,8 +1,8 @@
 package yesman.epicfight.client.renderer.patched.entity;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +22,8 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.eventbus.EventBus;
+import net.minecraftforge.eventbus.api.EventListenerHelper;
 import net.minecraftforge.fml.util.ObfuscationReflectionHelper;
 import yesman.epicfight.api.animation.AnimationPlayer;
 import yesman.epicfight.api.client.animation.Layer;
@@ -37,16 +39,44 @@ import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
 
 @OnlyIn(Dist.CLIENT)
 public abstract class PatchedLivingEntityRenderer<E extends LivingEntity, T extends LivingEntityPatch<E>, M extends EntityModel<E>, AM extends AnimatedMesh> extends PatchedEntityRenderer<E, T, LivingEntityRenderer<E, M>, AM> {
+	/** Kept for subclasses of addons, the renderer itself invokes the method handles below **/
+	@Deprecated
 	protected static Method isBodyVisible;
+	@Deprecated
 	protected static Method getRenderType;
 	
+	private static final MethodHandle IS_BODY_VISIBLE;
+	private static final MethodHandle GET_RENDER_TYPE;
+	private static final int EVENT_BUS_ID;
+	
 	static {
 		isBodyVisible = ObfuscationReflectionHelper.findMethod(LivingEntityRenderer.class, "m_5933_", LivingEntity.class);
 		getRenderType = ObfuscationReflectionHelper.findMethod(LivingEntityRenderer.class, "m_7225_", LivingEntity.class, boolean.class, boolean.class, boolean.class);
+		
+		try {
+			IS_BODY_VISIBLE = MethodHandles.lookup().unreflect(isBodyVisible);
+			GET_RENDER_TYPE = MethodHandles.lookup().unreflect(getRenderType);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Can't access LivingEntityRenderer methods", e);
+		}
+		
+		int busId;
+		
+		try {
+			busId = ObfuscationReflectionHelper.getPrivateValue(EventBus.class, (EventBus)MinecraftForge.EVENT_BUS, "busID");
+		} catch (RuntimeException e) {
+			EpicFightMod.LOGGER.warn("Can't read the forge event bus id, PrepareModelEvent will be posted on every draw");
+			busId = -1;
+		}
+		
+		EVENT_BUS_ID = busId;
 	}
 	
 	private Map<Class<?>, PatchedLayer<E, T, M, ? extends RenderLayer<E, M>, AM>> patchedLayers = Maps.newHashMap();
 	
+	/** Layer mappings of each original renderer. Patched renderers are rebuilt on resource reload, which also drops these **/
+	private final Map<LivingEntityRenderer<E, M>, LayerMapping<E, T, M, AM>> layerMappings = Maps.newIdentityHashMap();
+	
 	@Override
 	public void render(E entityIn, T entitypatch, LivingEntityRenderer<E, M> renderer, MultiBufferSource buffer, PoseStack poseStack, int packedLight, float partialTicks) {
 		super.render(entityIn, entitypatch, renderer, buffer, poseStack, packedLight, partialTicks);
@@ -65,9 +95,7 @@ public abstract class PatchedLivingEntityRenderer<E extends LivingEntity, T exte
 			AM mesh = this.getMesh(entitypatch);
 			this.prepareModel(mesh, entityIn, entitypatch);
 			
-			PrepareModelEvent prepareModelEvent = new PrepareModelEvent(this, mesh, entitypatch, buffer, poseStack, packedLight, partialTicks);
-			
-			if (!MinecraftForge.EVENT_BUS.post(prepareModelEvent)) {
+			if (!hasPrepareModelListeners() || !MinecraftForge.EVENT_BUS.post(new PrepareModelEvent(this, mesh, entitypatch, buffer, poseStack, packedLight, partialTicks))) {
 				VertexConsumer builder = buffer.getBuffer(renderType);
 				mesh.drawModelWithPose(poseStack, builder, packedLight, 1.0F, 1.0F, 1.0F, isVisibleToPlayer ? 0.15F : 1.0F, this.getOverlayCoord(entityIn, entitypatch, partialTicks), armature, poseMatrices);
 			}
@@ -95,27 +123,18 @@ public abstract class PatchedLivingEntityRenderer<E extends LivingEntity, T exte
 	}
 	
 	protected void renderLayer(LivingEntityRenderer<E, M> renderer, T entitypatch, E entityIn, OpenMatrix4f[] poses, MultiBufferSource buffer, PoseStack poseStack, int packedLightIn, float partialTicks) {
-		List<RenderLayer<E, M>> layers = Lists.newArrayList();
-		renderer.layers.forEach(layers::add);
-		Iterator<RenderLayer<E, M>> iter = layers.iterator();
+		LayerMapping<E, T, M, AM> layerMapping = this.getLayerMapping(renderer);
 		float f = MathUtils.lerpBetween(entityIn.yBodyRotO, entityIn.yBodyRot, partialTicks);
         float f1 = MathUtils.lerpBetween(entityIn.yHeadRotO, entityIn.yHeadRot, partialTicks);
         float f2 = f1 - f;
 		float f7 = entityIn.getViewXRot(partialTicks);
 		
-		while (iter.hasNext()) {
-			RenderLayer<E, M> layer = iter.next();
-			Class<?> rendererClass = layer.getClass();
-			
-			if (rendererClass.isAnonymousClass()) {
-				rendererClass = rendererClass.getSuperclass();
-			}
-			
-			this.patchedLayers.computeIfPresent(rendererClass, (key, val) -> {
-				val.renderLayer(0, entitypatch, entityIn, layer, poseStack, buffer, packedLightIn, poses, f2, f7, partialTicks);
-				iter.remove();
-				return val;
-			});
+		for (int i = 0; i < layerMapping.patchedLayers.length; i++) {
+			layerMapping.patchedLayers[i].renderLayer(0, entitypatch, entityIn, layerMapping.patchedOriginals[i], poseStack, buffer, packedLightIn, poses, f2, f7, partialTicks);
+		}
+		
+		if (layerMapping.vanillaLayers.length == 0) {
+			return;
 		}
 		
 		OpenMatrix4f modelMatrix = new OpenMatrix4f().mulFront(poses[this.getRootJointIndex()]);
@@ -127,23 +146,41 @@ public abstract class PatchedLivingEntityRenderer<E extends LivingEntity, T exte
 		poseStack.translate(0.0D, this.getLayerCorrection(), 0.0D);
 		poseStack.scale(-1.0F, -1.0F, 1.0F);
 		
-		layers.forEach((layer) -> {
+		for (RenderLayer<E, M> layer : layerMapping.vanillaLayers) {
 			layer.render(poseStack, buffer, packedLightIn, entityIn, entityIn.animationPosition, entityIn.animationSpeed, partialTicks, entityIn.tickCount, f2, f7);
-		});
+		}
 		
 		poseStack.popPose();
 	}
 	
+	/** Rebuilt when the layers of the original renderer changed in size, e.g. when other mods add layers late **/
+	private LayerMapping<E, T, M, AM> getLayerMapping(LivingEntityRenderer<E, M> renderer) {
+		LayerMapping<E, T, M, AM> layerMapping = this.layerMappings.get(renderer);
+		
+		if (layerMapping == null || layerMapping.layerCount != renderer.layers.size()) {
+			layerMapping = new LayerMapping<>(renderer.layers, this.patchedLayers);
+			this.layerMappings.put(renderer, layerMapping);
+		}
+		
+		return layerMapping;
+	}
+	
+	private static boolean hasPrepareModelListeners() {
+		return EVENT_BUS_ID < 0 || EventListenerHelper.getListenerList(PrepareModelEvent.class).getListeners(EVENT_BUS_ID).length > 0;
+	}
+	
 	public RenderType getRenderType(E entityIn, T entitypatch, LivingEntityRenderer<E, M> renderer, boolean isVisible, boolean isVisibleToPlayer, boolean isGlowing) {
 		try {
-			RenderType renderType = (RenderType)getRenderType.invoke(renderer, entityIn, isVisible, isVisibleToPlayer, isGlowing);
+			RenderType renderType = (RenderType)GET_RENDER_TYPE.invokeExact(renderer, (LivingEntity)entityIn, isVisible, isVisibleToPlayer, isGlowing);
 			
 			if (renderType != null) {
 				renderType = EpicFightRenderTypes.triangles(renderType);
 			}
 			
 			return renderType;
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
 			EpicFightMod.LOGGER.error("Reflection Exception");
 			e.printStackTrace();
 			return null;
@@ -152,8 +189,10 @@ public abstract class PatchedLivingEntityRenderer<E extends LivingEntity, T exte
 	
 	protected boolean isVisible(LivingEntityRenderer<E, M> renderer, E entityIn) {
 		try {
-			return (boolean) isBodyVisible.invoke(renderer, entityIn);
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			return (boolean)IS_BODY_VISIBLE.invokeExact((LivingEntityRenderer<?, ?>)renderer, (LivingEntity)entityIn);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
 			EpicFightMod.LOGGER.error("Reflection Exception");
 			e.printStackTrace();
 			
@@ -176,6 +215,7 @@ public abstract class PatchedLivingEntityRenderer<E extends LivingEntity, T exte
 	
 	public void addPatchedLayer(Class<?> originalLayerClass, PatchedLayer<E, T, M, ? extends RenderLayer<E, M>, AM> patchedLayer) {
 		this.patchedLayers.put(originalLayerClass, patchedLayer);
+		this.layerMappings.clear();
 	}
 	
 	protected int getRootJointIndex() {
@@ -185,4 +225,41 @@ public abstract class PatchedLivingEntityRenderer<E extends LivingEntity, T exte
 	protected double getLayerCorrection() {
 		return 1.15D;
 	}
+	
+	/** The layers of an original renderer split into the ones replaced by patched layers and the ones rendered as they are **/
+	private static class LayerMapping<E extends LivingEntity, T extends LivingEntityPatch<E>, M extends EntityModel<E>, AM extends AnimatedMesh> {
+		final int layerCount;
+		final RenderLayer<E, M>[] patchedOriginals;
+		final PatchedLayer<E, T, M, ? extends RenderLayer<E, M>, AM>[] patchedLayers;
+		final RenderLayer<E, M>[] vanillaLayers;
+		
+		@SuppressWarnings("unchecked")
+		LayerMapping(List<RenderLayer<E, M>> layers, Map<Class<?>, PatchedLayer<E, T, M, ? extends RenderLayer<E, M>, AM>> patchedLayerMap) {
+			List<RenderLayer<E, M>> patchedOriginals = Lists.newArrayList();
+			List<PatchedLayer<E, T, M, ? extends RenderLayer<E, M>, AM>> patchedLayers = Lists.newArrayList();
+			List<RenderLayer<E, M>> vanillaLayers = Lists.newArrayList();
+			
+			for (RenderLayer<E, M> layer : layers) {
+				Class<?> rendererClass = layer.getClass();
+				
+				if (rendererClass.isAnonymousClass()) {
+					rendererClass = rendererClass.getSuperclass();
+				}
+				
+				PatchedLayer<E, T, M, ? extends RenderLayer<E, M>, AM> patchedLayer = patchedLayerMap.get(rendererClass);
+				
+				if (patchedLayer != null) {
+					patchedOriginals.add(layer);
+					patchedLayers.add(patchedLayer);
+				} else {
+					vanillaLayers.add(layer);
+				}
+			}
+			
+			this.layerCount = layers.size();
+			this.patchedOriginals = patchedOriginals.toArray(new RenderLayer[0]);
+			this.patchedLayers = patchedLayers.toArray(new PatchedLayer[0]);
+			this.vanillaLayers = vanillaLayers.toArray(new RenderLayer[0]);
+		}
+	}
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import yesman.epicfight.api.animation.LivingMotions;
 import yesman.epicfight.api.animation.types.ActionAnimation;
 import yesman.epicfight.api.animation.types.BasicAttackAnimation;
 import yesman.epicfight.api.animation.types.StaticAnimation;
+import yesman.epicfight.api.client.animation.AnimationPredictor;
 import yesman.epicfight.api.utils.AttackResult;
 import yesman.epicfight.api.utils.math.MathUtils;
 import yesman.epicfight.client.ClientEngine;
@@ -56,6 +57,8 @@ public class LocalPlayerPatch extends AbstractClientPlayerPatch<LocalPlayer> {
 	private float lockOnYRot;
 	private float lockOnYRotO;
 	
+	private final AnimationPredictor animationPredictor = new AnimationPredictor();
+	
 	@Override
 	public void onConstructed(LocalPlayer entity) {
 		super.onConstructed(entity);
@@ -103,6 +106,7 @@ public class LocalPlayerPatch extends AbstractClientPlayerPatch<LocalPlayer> {
 	@Override
 	public void clientTick(LivingUpdateEvent event) {
 		super.clientTick(event);
+		this.animationPredictor.tick(this);
 		
 		HitResult cameraHitResult = this.minecraft.hitResult;
 		RenderEngine renderEngine = ClientEngine.getInstance().renderEngine;
@@ -205,7 +209,13 @@ public class LocalPlayerPatch extends AbstractClientPlayerPatch<LocalPlayer> {
 	
 	@Override
 	public void playAnimationSynchronized(StaticAnimation animation, float convertTimeModifier, AnimationPacketProvider packetProvider) {
-		EpicFightNetworkManager.sendToServer(new CPPlayAnimation(animation.getNamespaceId(), animation.getId(), convertTimeModifier, false, true));
+		int sequence = this.animationPredictor.predict(animation);
+		this.animator.playAnimation(animation, convertTimeModifier);
+		EpicFightNetworkManager.sendToServer(new CPPlayAnimation(animation, convertTimeModifier, sequence));
+	}
+	
+	public AnimationPredictor getAnimationPredictor() {
+		return this.animationPredictor;
 	}
 	
 	@Override
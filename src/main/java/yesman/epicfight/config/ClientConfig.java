@@ -24,6 +24,10 @@ public class ClientConfig {
 	public final ConfigValue<List<? extends String>> battleAutoSwitchItems;
 	public final ConfigValue<List<? extends String>> miningAutoSwitchItems;
 	
+	public final IntValue maxParticles;
+	public final IntValue maxParticlesPerType;
+	public final IntValue particleCullDistance;
+	
 	public final BooleanValue showTargetIndicator;
 	public final EnumValue<HealthBarShowOptions> healthBarShowOption;
 	
@@ -74,6 +78,10 @@ public class ClientConfig {
 			return false;
 		});
 		
+		this.maxParticles = config.defineInRange("ingame.particle_budget.max_particles", 4096, 256, 65536);
+		this.maxParticlesPerType = config.defineInRange("ingame.particle_budget.max_particles_per_type", 1024, 64, 16384);
+		this.particleCullDistance = config.defineInRange("ingame.particle_budget.cull_distance", 64, 8, 256);
+		
 		this.staminaBarX = config.define("ingame.ui.stamina_bar_x", 120);
 		this.staminaBarY = config.define("ingame.ui.stamina_bar_y", 10);
 		this.staminaBarXBase = config.defineEnum("ingame.ui.stamina_bar_x_base", HorizontalBasis.RIGHT);
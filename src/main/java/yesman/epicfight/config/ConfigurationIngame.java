@@ -29,6 +29,10 @@ public class ConfigurationIngame {
 	public final List<Item> miningAutoSwitchItems;
 	public int aimHelperRealColor;
 	
+	public final Option<Integer> maxParticles;
+	public final Option<Integer> maxParticlesPerType;
+	public final Option<Integer> particleCullDistance;
+	
 	public final Option<Integer> staminaBarX;
 	public final Option<Integer> staminaBarY;
 	public final Option<ClientConfig.HorizontalBasis> staminaBarXBase;
@@ -69,6 +73,10 @@ public class ConfigurationIngame {
 			ForgeRegistries.ITEMS.getValue(new ResourceLocation(itemName))).iterator()
 		);
 		
+		this.maxParticles = new Option<Integer>(config.maxParticles.get());
+		this.maxParticlesPerType = new Option<Integer>(config.maxParticlesPerType.get());
+		this.particleCullDistance = new Option<Integer>(config.particleCullDistance.get());
+		
 		this.staminaBarX = new Option<Integer>(config.staminaBarX.get());
 		this.staminaBarY = new Option<Integer>(config.staminaBarY.get());
 		this.staminaBarXBase = new Option<ClientConfig.HorizontalBasis>(config.staminaBarXBase.get());
@@ -102,6 +110,9 @@ public class ConfigurationIngame {
 		this.autoPreparation.setDefaultValue();
 		this.offBloodEffects.setDefaultValue();
 		this.aimHelperRealColor = ColorSlider.toColorInteger(this.aimHelperColor.getValue());
+		this.maxParticles.setDefaultValue();
+		this.maxParticlesPerType.setDefaultValue();
+		this.particleCullDistance.setDefaultValue();
 		this.staminaBarX.setDefaultValue();
 		this.staminaBarY.setDefaultValue();
 		this.staminaBarXBase.setDefaultValue();
@@ -135,6 +146,9 @@ public class ConfigurationIngame {
 		this.aimHelperRealColor = ColorSlider.toColorInteger(this.aimHelperColor.getValue());
 		config.battleAutoSwitchItems.set(Lists.newArrayList(this.battleAutoSwitchItems.stream().map((item) -> item.getRegistryName().toString()).iterator()));
 		config.miningAutoSwitchItems.set(Lists.newArrayList(this.miningAutoSwitchItems.stream().map((item) -> item.getRegistryName().toString()).iterator()));
+		config.maxParticles.set(this.maxParticles.getValue());
+		config.maxParticlesPerType.set(this.maxParticlesPerType.getValue());
+		config.particleCullDistance.set(this.particleCullDistance.getValue());
 		config.staminaBarX.set(this.staminaBarX.getValue());
 		config.staminaBarY.set(this.staminaBarY.getValue());
 		config.staminaBarXBase.set(this.staminaBarXBase.getValue());
@@ -14,7 +14,6 @@ import net.minecraft.world.entity.EntityDimensions;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.Mob;
-import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.boss.enderdragon.EnderDragon;
 import net.minecraft.world.entity.monster.EnderMan;
 import net.minecraft.world.entity.player.Player;
@@ -172,9 +171,10 @@ public class EntityEvents {
 					}
 				}
 				
+				//One capability lookup for the hit entity, the narrower patches are casts of it
 				HurtableEntityPatch<?> hitHurtableEntityPatch = EpicFightCapabilities.getEntityPatch(hitEntity, HurtableEntityPatch.class);
-				LivingEntityPatch<?> hitLivingEntityPatch = EpicFightCapabilities.getEntityPatch(hitEntity, LivingEntityPatch.class);
-				ServerPlayerPatch hitPlayerPatch = EpicFightCapabilities.getEntityPatch(hitEntity, ServerPlayerPatch.class);
+				LivingEntityPatch<?> hitLivingEntityPatch = hitHurtableEntityPatch instanceof LivingEntityPatch<?> livingEntityPatch ? livingEntityPatch : null;
+				ServerPlayerPatch hitPlayerPatch = hitHurtableEntityPatch instanceof ServerPlayerPatch serverPlayerPatch ? serverPlayerPatch : null;
 				
 				if (hitPlayerPatch != null) {
 					HurtEvent.Post hurtEvent = new HurtEvent.Post(hitPlayerPatch, epicFightDamageSource, totalDamage);
@@ -270,7 +270,7 @@ public class EntityEvents {
 									knockBackAmount = Math.min(flag ? epicFightDamageSource.getImpact() * 0.05F : totalStunTime, 2.0F);
 								}
 								
-								stunTime *= 1.0F - hitEntity.getAttributeValue(Attributes.KNOCKBACK_RESISTANCE);
+								stunTime *= 1.0F - hitHurtableEntityPatch.getCombatAttributes().getKnockbackResistance();
 							}
 							break;
 						case LONG:
@@ -46,6 +46,7 @@ public class PlayerEvents {
 		
 		if (entitypatch != null) {
 			entitypatch.onStartTracking((ServerPlayer)event.getPlayer());
+			EpicFightNetworkManager.flushSpawnStates();
 		}
 	}
 	
@@ -1,23 +1,33 @@
 package yesman.epicfight.events;
 
+import java.util.List;
+
 import com.google.common.collect.Lists;
 
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
 import net.minecraftforge.event.LootTableLoadEvent;
 import net.minecraftforge.event.OnDatapackSyncEvent;
 import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.network.PacketDistributor;
-import yesman.epicfight.api.data.reloader.ItemCapabilityReloadListener;
-import yesman.epicfight.api.data.reloader.MobPatchReloadListener;
+import yesman.epicfight.api.data.reloader.DatapackSyncCache;
 import yesman.epicfight.api.data.reloader.SkillManager;
+import yesman.epicfight.api.utils.CombatEffectScheduler;
+import yesman.epicfight.api.utils.EntityQueryCache;
+import yesman.epicfight.api.utils.HitEntityList;
 import yesman.epicfight.data.loot.EpicFightLootTables;
 import yesman.epicfight.main.EpicFightMod;
 import yesman.epicfight.network.EpicFightNetworkManager;
 import yesman.epicfight.network.server.SPChangeGamerule;
 import yesman.epicfight.network.server.SPDatapackSync;
 import yesman.epicfight.network.server.SPDatapackSyncSkill;
+import yesman.epicfight.server.commands.NetworkStatisticsCommand;
 import yesman.epicfight.server.commands.PlayerModeCommand;
 import yesman.epicfight.server.commands.PlayerSkillCommand;
 import yesman.epicfight.skill.SkillCategory;
@@ -38,8 +48,39 @@ public class WorldEvents {
 	public static void onCommandRegistry(final RegisterCommandsEvent event) {
 		PlayerModeCommand.register(event.getDispatcher());
 		PlayerSkillCommand.register(event.getDispatcher());
+		NetworkStatisticsCommand.register(event.getDispatcher());
     }
 	
+	@SubscribeEvent
+	public static void onServerTick(final TickEvent.ServerTickEvent event) {
+		if (event.phase == TickEvent.Phase.START) {
+			CombatEffectScheduler.tick();
+		}
+	}
+	
+	@SubscribeEvent
+	public static void onServerStopping(final ServerStoppingEvent event) {
+		CombatEffectScheduler.flush();
+		DatapackSyncCache.clearSyncStates();
+		HitEntityList.clearHostilityVerdicts();
+		EntityQueryCache.clear();
+	}
+	
+	@SubscribeEvent
+	public static void onWorldUnload(final WorldEvent.Unload event) {
+		if (event.getWorld() instanceof Level level && !level.isClientSide()) {
+			HitEntityList.unloadLevel(level);
+			EntityQueryCache.unloadLevel(level);
+		}
+	}
+	
+	@SubscribeEvent
+	public static void onPlayerLoggedOut(final PlayerEvent.PlayerLoggedOutEvent event) {
+		if (event.getPlayer() instanceof ServerPlayer serverPlayer) {
+			DatapackSyncCache.forget(serverPlayer);
+		}
+	}
+	
 	@SubscribeEvent
 	public static void onDatapackSync(final OnDatapackSyncEvent event) {
 		ServerPlayer player = event.getPlayer();
@@ -72,18 +113,13 @@ public class WorldEvents {
 			}
 		}
 		
-		if (player == null || !player.getServer().isSingleplayerOwner(player.getGameProfile())) {
-			SPDatapackSync armorPacket = new SPDatapackSync(ItemCapabilityReloadListener.armorCount(), SPDatapackSync.Type.ARMOR);
-			SPDatapackSync weaponPacket = new SPDatapackSync(ItemCapabilityReloadListener.weaponCount(), SPDatapackSync.Type.WEAPON);
-			SPDatapackSync mobPatchPacket = new SPDatapackSync(MobPatchReloadListener.getTagCount(), SPDatapackSync.Type.MOB);
-			
-			ItemCapabilityReloadListener.getArmorDataStream().forEach(armorPacket::write);
-			ItemCapabilityReloadListener.getWeaponDataStream().forEach(weaponPacket::write);
-			MobPatchReloadListener.getDataStream().forEach(mobPatchPacket::write);
-			
-			EpicFightNetworkManager.sendToClient(armorPacket, target);
-			EpicFightNetworkManager.sendToClient(weaponPacket, target);
-			EpicFightNetworkManager.sendToClient(mobPatchPacket, target);
+		//Pushed right away, the payload has to be applied before the entities and items of the player are created on the client
+		List<ServerPlayer> players = player == null ? event.getPlayerList().getPlayers() : List.of(player);
+		
+		for (ServerPlayer serverPlayer : players) {
+			if (!serverPlayer.getServer().isSingleplayerOwner(serverPlayer.getGameProfile())) {
+				DatapackSyncCache.sendPayload(serverPlayer);
+			}
 		}
     }
 }
\ No newline at end of file
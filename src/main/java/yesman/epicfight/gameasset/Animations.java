@@ -1554,13 +1554,18 @@ public class Animations {
 						List<LivingEntity> hitEnemies = entitypatch.getCurrenltyAttackedEntities();
 						Vec3 vec = entitypatch.getOriginal().position().add(Vec3.directionFromRotation(new Vec2(0.0F, entitypatch.getOriginal().getYRot())));
 						AttackAnimation attackAnimation = (AttackAnimation)animation;
+						EpicFightDamageSource prototype = null;
 						
 						for (LivingEntity e : hitEnemies) {
 							if (e.isAlive()) {
 								LivingEntityPatch<?> targetpatch = EpicFightCapabilities.getEntityPatch(e, LivingEntityPatch.class);
 								
 								if (targetpatch != null) {
-									DamageSource dmgSource = attackAnimation.getEpicFightDamageSource(entitypatch, e, attackAnimation.phases[0]).cast();
+									if (prototype == null) {
+										prototype = attackAnimation.getEpicFightDamageSource(entitypatch, e, attackAnimation.phases[0]);
+									}
+									
+									DamageSource dmgSource = prototype.copy().cast();
 									
 									if (!targetpatch.tryHurt(dmgSource, 0).resultType.dealtDamage()) {
 										continue;
@@ -1894,8 +1899,9 @@ public class Animations {
 					return true;
 				});
 				
-				list = HitEntityList.Priority.HOSTILITY.sort(entitypatch, list);
+				list = HitEntityList.Priority.HOSTILITY.sort(entitypatch, list, i);
 				int count = 0;
+				EpicFightDamageSource prototype = null;
 				
 				while (count < i && count < list.size()) {
 					Entity e = list.get(count++);
@@ -1905,8 +1911,12 @@ public class Animations {
 					lightningbolt.moveTo(Vec3.atBottomCenterOf(blockpos));
 					lightningbolt.setDamage(0.0F);
 					lightningbolt.setCause(entitypatch instanceof ServerPlayerPatch serverPlayerPatch ? serverPlayerPatch.getOriginal() : null);
-					e.hurt(attackAnimation.getEpicFightDamageSource(DamageSource.LIGHTNING_BOLT, entitypatch, e, phase)
-														.setHurtItem(entitypatch.getOriginal().getItemInHand(InteractionHand.MAIN_HAND)).cast(), total);
+					
+					if (prototype == null) {
+						prototype = attackAnimation.getEpicFightDamageSource(DamageSource.LIGHTNING_BOLT, entitypatch, e, phase).setHurtItem(entitypatch.getOriginal().getItemInHand(InteractionHand.MAIN_HAND));
+					}
+					
+					e.hurt(prototype.copy().cast(), total);
 					e.thunderHit(level, lightningbolt);
 					
 					level.addFreshEntity(lightningbolt);
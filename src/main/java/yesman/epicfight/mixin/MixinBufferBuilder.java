@@ -2,23 +2,23 @@ package yesman.epicfight.mixin;
 
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import com.google.common.primitives.Floats;
 import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.mojang.blaze3d.vertex.VertexFormat;
 import com.mojang.blaze3d.vertex.VertexFormatElement;
 import com.mojang.math.Vector3f;
 
-import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntConsumer;
 import net.minecraft.util.Mth;
 
@@ -40,6 +40,20 @@ public abstract class MixinBufferBuilder {
 	@Shadow private float sortZ;
 	@Shadow private boolean indexOnly;
 	
+	@Unique private static final Vector3f[] TRIANGLE_SORTING_POINTS = new Vector3f[0];
+	@Unique private static final float RESORT_THRESHOLD_SQR = 0.01F;
+	@Unique private float[] triangleCentroids;
+	@Unique private int[] triangleOrder;
+	@Unique private int[] triangleOrderTmp;
+	@Unique private int[] sortKeys;
+	@Unique private int[] sortKeysTmp;
+	@Unique private int[] radixHistogram;
+	@Unique private int triangleCount;
+	@Unique private int sortedTriangleCount = -1;
+	@Unique private float sortedOriginX;
+	@Unique private float sortedOriginY;
+	@Unique private float sortedOriginZ;
+	
 	@Shadow
 	private IntConsumer intConsumer(VertexFormat.IndexType indexType) {throw new AbstractMethodError("Shadow");}
 	
@@ -73,37 +87,127 @@ public abstract class MixinBufferBuilder {
 	}
 	
 	private void putSortedTriangleIndices(VertexFormat.IndexType indexType) {
-		float[] afloat = new float[this.sortingPoints.length];
-		int[] aint = new int[this.sortingPoints.length];
+		int count = this.triangleCount;
 		
-		for (int i = 0; i < this.sortingPoints.length; aint[i] = i++) {
-			float f = this.sortingPoints[i].x() - this.sortX;
-			float f1 = this.sortingPoints[i].y() - this.sortY;
-			float f2 = this.sortingPoints[i].z() - this.sortZ;
-			afloat[i] = f * f + f1 * f1 + f2 * f2;
+		//Reuse the last order while the sort origin (camera) moved less than the threshold and the order still sorts the current triangles
+		if (count != this.sortedTriangleCount || Mth.square(this.sortX - this.sortedOriginX) + Mth.square(this.sortY - this.sortedOriginY) + Mth.square(this.sortZ - this.sortedOriginZ) > RESORT_THRESHOLD_SQR || !this.isOrderValid(count)) {
+			this.sortTriangles(count);
+			this.sortedTriangleCount = count;
+			this.sortedOriginX = this.sortX;
+			this.sortedOriginY = this.sortY;
+			this.sortedOriginZ = this.sortZ;
 		}
 		
-		IntArrays.mergeSort(aint, (p_166784_, p_166785_) -> {
-			return Floats.compare(afloat[p_166785_], afloat[p_166784_]);
-		});
-		
 		IntConsumer intconsumer = this.intConsumer(indexType);
 		this.buffer.position(this.nextElementByte);
 		
-		for (int j : aint) {
+		//Farthest triangle first
+		for (int i = count - 1; i >= 0; i--) {
+			int j = this.triangleOrder[i];
 			intconsumer.accept(j * this.mode.primitiveStride + 0);
 			intconsumer.accept(j * this.mode.primitiveStride + 1);
 			intconsumer.accept(j * this.mode.primitiveStride + 2);
 		}
 	}
 	
-	public Vector3f[] makeTrianglesSortingPoints() {
+	/** Whether the last order still lists the triangles by ascending distance, stops at the first triangle out of order **/
+	@Unique
+	private boolean isOrderValid(int count) {
+		float lastDistance = 0.0F;
+		
+		for (int i = 0; i < count; i++) {
+			float distance = this.distanceSqr(this.triangleOrder[i]);
+			
+			if (distance < lastDistance) {
+				return false;
+			}
+			
+			lastDistance = distance;
+		}
+		
+		return true;
+	}
+	
+	@Unique
+	private float distanceSqr(int triangle) {
+		float x = this.triangleCentroids[triangle * 3 + 0] - this.sortX;
+		float y = this.triangleCentroids[triangle * 3 + 1] - this.sortY;
+		float z = this.triangleCentroids[triangle * 3 + 2] - this.sortZ;
+		
+		return x * x + y * y + z * z;
+	}
+	
+	/** LSD radix sort of the triangles by squared distance, ascending. Bits of non negative floats order like the floats themselves **/
+	@Unique
+	private void sortTriangles(int count) {
+		int[] keys = this.sortKeys;
+		int[] order = this.triangleOrder;
+		int[] keysTmp = this.sortKeysTmp;
+		int[] orderTmp = this.triangleOrderTmp;
+		int[] histogram = this.radixHistogram;
+		
+		for (int i = 0; i < count; i++) {
+			keys[i] = Float.floatToRawIntBits(this.distanceSqr(i));
+			order[i] = i;
+		}
+		
+		for (int shift = 0; shift < 32; shift += 8) {
+			Arrays.fill(histogram, 0);
+			
+			for (int i = 0; i < count; i++) {
+				histogram[(keys[i] >>> shift) & 255]++;
+			}
+			
+			//Every key has the same digit, the pass would not change the order
+			if (histogram[(keys[0] >>> shift) & 255] == count) {
+				continue;
+			}
+			
+			for (int i = 0, offset = 0; i < 256; i++) {
+				int bucketSize = histogram[i];
+				histogram[i] = offset;
+				offset += bucketSize;
+			}
+			
+			for (int i = 0; i < count; i++) {
+				int destination = histogram[(keys[i] >>> shift) & 255]++;
+				keysTmp[destination] = keys[i];
+				orderTmp[destination] = order[i];
+			}
+			
+			int[] swap = keys;
+			keys = keysTmp;
+			keysTmp = swap;
+			swap = order;
+			order = orderTmp;
+			orderTmp = swap;
+		}
+		
+		this.sortKeys = keys;
+		this.sortKeysTmp = keysTmp;
+		this.triangleOrder = order;
+		this.triangleOrderTmp = orderTmp;
+	}
+	
+	/** Fills the centroid buffer, which is kept and grown across frames. The sorting points only flag the buffer to be sorted in end() **/
+	@Unique
+	private Vector3f[] makeTrianglesSortingPoints() {
 		FloatBuffer floatbuffer = this.buffer.asFloatBuffer();
 		int i = this.totalRenderedBytes / 4;
 		int j = this.format.getIntegerSize();
 		int k = j * this.mode.primitiveStride;
 		int l = this.vertices / this.mode.primitiveStride;
-		Vector3f[] avector3f = new Vector3f[l];
+		
+		if (this.triangleCentroids == null || this.triangleOrder.length < l) {
+			int capacity = Math.max(l, 64);
+			this.triangleCentroids = new float[capacity * 3];
+			this.triangleOrder = new int[capacity];
+			this.triangleOrderTmp = new int[capacity];
+			this.sortKeys = new int[capacity];
+			this.sortKeysTmp = new int[capacity];
+			this.radixHistogram = new int[256];
+			this.sortedTriangleCount = -1;
+		}
 		
 		for (int i1 = 0; i1 < l; ++i1) {
 			float x1 = floatbuffer.get(i + i1 * k + 0);
@@ -116,34 +220,29 @@ public abstract class MixinBufferBuilder {
 			float y3 = floatbuffer.get(i + i1 * k + j * 2 + 1);
 			float z3 = floatbuffer.get(i + i1 * k + j * 2 + 2);
 			
-			avector3f[i1] = this.getOriginQuadCenter(x1, y1, z1, x2, y2, z2, x3, y3, z3);
-		}
-		
-		return avector3f;
-	}
-	
-	private Vector3f getOriginQuadCenter(float x1, float y1, float z1, float x2, float y2, float z2, float x3, float y3, float z3) {
-		float[] lineLength = new float[3];
-		lineLength[0] = Mth.sqrt(Mth.square(x2 - x1) + Mth.square(y2 - y1) + Mth.square(z2 - z1));
-		lineLength[1] = Mth.sqrt(Mth.square(x3 - x2) + Mth.square(y3 - y2) + Mth.square(z3 - z2));
-		lineLength[2] = Mth.sqrt(Mth.square(x1 - x3) + Mth.square(y1 - y3) + Mth.square(z1 - z3));
-		int longest = 0;
-		
-		for (int i = 1; i < 3; i++) {
-			if (lineLength[i] > lineLength[longest]) {
-				longest = i;
+			//The center of the longest edge, which is the quad center for triangulated quads
+			float edge1 = Mth.square(x2 - x1) + Mth.square(y2 - y1) + Mth.square(z2 - z1);
+			float edge2 = Mth.square(x3 - x2) + Mth.square(y3 - y2) + Mth.square(z3 - z2);
+			float edge3 = Mth.square(x1 - x3) + Mth.square(y1 - y3) + Mth.square(z1 - z3);
+			int offset = i1 * 3;
+			
+			if (edge1 >= edge2 && edge1 >= edge3) {
+				this.triangleCentroids[offset + 0] = (x1 + x2) * 0.5F;
+				this.triangleCentroids[offset + 1] = (y1 + y2) * 0.5F;
+				this.triangleCentroids[offset + 2] = (z1 + z2) * 0.5F;
+			} else if (edge2 >= edge3) {
+				this.triangleCentroids[offset + 0] = (x2 + x3) * 0.5F;
+				this.triangleCentroids[offset + 1] = (y2 + y3) * 0.5F;
+				this.triangleCentroids[offset + 2] = (z2 + z3) * 0.5F;
+			} else {
+				this.triangleCentroids[offset + 0] = (x3 + x1) * 0.5F;
+				this.triangleCentroids[offset + 1] = (y3 + y1) * 0.5F;
+				this.triangleCentroids[offset + 2] = (z3 + z1) * 0.5F;
 			}
 		}
 		
-		switch (longest) {
-		case 0:
-			return new Vector3f((x1 + x2) * 0.5F, (y1 + y2) * 0.5F, (z1 + z2) * 0.5F);
-		case 1:
-			return new Vector3f((x2 + x3) * 0.5F, (y2 + y3) * 0.5F, (z2 + z3) * 0.5F);
-		case 2:
-			return new Vector3f((x3 + x1) * 0.5F, (y3 + y1) * 0.5F, (z3 + z1) * 0.5F);
-		}
+		this.triangleCount = l;
 		
-		return null;
+		return TRIANGLE_SORTING_POINTS;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+package yesman.epicfight.network;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+/**
+ * Per-message-type traffic counters of {@link EpicFightNetworkManager}.
+ * Encoding is recorded on the sending side, decoding and handling on the receiving side, so an integrated server collects both directions.
+ * Latencies are stored in power-of-two microsecond histograms. The handle latency covers the message handler itself, not the work it enqueues.
+ */
+public class NetworkStatistics {
+	public static final int HISTOGRAM_BUCKETS = 16;
+	private static final Map<Class<?>, Entry> ENTRIES = Maps.newConcurrentMap();
+	
+	public static <MSG> BiConsumer<MSG, FriendlyByteBuf> instrumentEncoder(Class<MSG> messageType, BiConsumer<MSG, FriendlyByteBuf> encoder) {
+		Entry entry = getEntry(messageType);
+		
+		return (msg, buf) -> {
+			int start = buf.writerIndex();
+			long time = System.nanoTime();
+			encoder.accept(msg, buf);
+			entry.encoded.increment();
+			entry.encodedBytes.add(buf.writerIndex() - start);
+			entry.encodeLatency.record(System.nanoTime() - time);
+		};
+	}
+	
+	public static <MSG> Function<FriendlyByteBuf, MSG> instrumentDecoder(Class<MSG> messageType, Function<FriendlyByteBuf, MSG> decoder) {
+		Entry entry = getEntry(messageType);
+		
+		return (buf) -> {
+			int start = buf.readerIndex();
+			long time = System.nanoTime();
+			MSG msg = decoder.apply(buf);
+			entry.decoded.increment();
+			entry.decodedBytes.add(buf.readerIndex() - start);
+			entry.decodeLatency.record(System.nanoTime() - time);
+			
+			return msg;
+		};
+	}
+	
+	public static <MSG> BiConsumer<MSG, Supplier<NetworkEvent.Context>> instrumentHandler(Class<MSG> messageType, BiConsumer<MSG, Supplier<NetworkEvent.Context>> handler) {
+		Entry entry = getEntry(messageType);
+		
+		return (msg, ctx) -> {
+			long time = System.nanoTime();
+			handler.accept(msg, ctx);
+			entry.handleLatency.record(System.nanoTime() - time);
+		};
+	}
+	
+	private static Entry getEntry(Class<?> messageType) {
+		return ENTRIES.computeIfAbsent(messageType, Entry::new);
+	}
+	
+	/** Entries that have seen any traffic, largest byte total first **/
+	public static List<Entry> getActiveEntries() {
+		List<Entry> entries = Lists.newArrayList();
+		
+		for (Entry entry : ENTRIES.values()) {
+			if (entry.getEncodedCount() > 0 || entry.getDecodedCount() > 0) {
+				entries.add(entry);
+			}
+		}
+		
+		entries.sort(Comparator.comparingLong((Entry entry) -> entry.getEncodedBytes() + entry.getDecodedBytes()).reversed());
+		
+		return entries;
+	}
+	
+	public static void reset() {
+		ENTRIES.values().forEach(Entry::reset);
+	}
+	
+	public static void exportCsv(Path path) throws IOException {
+		Files.createDirectories(path.getParent());
+		
+		try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+			StringBuilder header = new StringBuilder("message,encoded,encoded_bytes,decoded,decoded_bytes");
+			
+			for (String histogram : new String[] { "encode", "decode", "handle" }) {
+				for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+					header.append(',').append(histogram).append("_le_").append(Histogram.getBucketBoundMicros(i)).append("us");
+				}
+			}
+			
+			writer.write(header.toString());
+			writer.newLine();
+			
+			for (Entry entry : getActiveEntries()) {
+				StringBuilder line = new StringBuilder(entry.getName());
+				line.append(',').append(entry.getEncodedCount()).append(',').append(entry.getEncodedBytes());
+				line.append(',').append(entry.getDecodedCount()).append(',').append(entry.getDecodedBytes());
+				
+				for (Histogram histogram : new Histogram[] { entry.encodeLatency, entry.decodeLatency, entry.handleLatency }) {
+					for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+						line.append(',').append(histogram.getCount(i));
+					}
+				}
+				
+				writer.write(line.toString());
+				writer.newLine();
+			}
+		}
+	}
+	
+	public static class Entry {
+		private final Class<?> messageType;
+		private final LongAdder encoded = new LongAdder();
+		private final LongAdder encodedBytes = new LongAdder();
+		private final LongAdder decoded = new LongAdder();
+		private final LongAdder decodedBytes = new LongAdder();
+		private final Histogram encodeLatency = new Histogram();
+		private final Histogram decodeLatency = new Histogram();
+		private final Histogram handleLatency = new Histogram();
+		
+		private Entry(Class<?> messageType) {
+			this.messageType = messageType;
+		}
+		
+		public String getName() {
+			return this.messageType.getSimpleName();
+		}
+		
+		public long getEncodedCount() {
+			return this.encoded.sum();
+		}
+		
+		public long getEncodedBytes() {
+			return this.encodedBytes.sum();
+		}
+		
+		public long getDecodedCount() {
+			return this.decoded.sum();
+		}
+		
+		public long getDecodedBytes() {
+			return this.decodedBytes.sum();
+		}
+		
+		public Histogram getEncodeLatency() {
+			return this.encodeLatency;
+		}
+		
+		public Histogram getDecodeLatency() {
+			return this.decodeLatency;
+		}
+		
+		public Histogram getHandleLatency() {
+			return this.handleLatency;
+		}
+		
+		private void reset() {
+			this.encoded.reset();
+			this.encodedBytes.reset();
+			this.decoded.reset();
+			this.decodedBytes.reset();
+			this.encodeLatency.reset();
+			this.decodeLatency.reset();
+			this.handleLatency.reset();
+		}
+	}
+	
+	/** Bucket i counts samples up to 2^i microseconds, the last bucket also holds everything above **/
+	public static class Histogram {
+		private final AtomicLongArray buckets = new AtomicLongArray(HISTOGRAM_BUCKETS);
+		
+		public static long getBucketBoundMicros(int bucket) {
+			return 1L << bucket;
+		}
+		
+		private void record(long nanos) {
+			long micros = Math.max(nanos / 1000L, 1L);
+			int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros - 1), HISTOGRAM_BUCKETS - 1);
+			this.buckets.incrementAndGet(bucket);
+		}
+		
+		public long getCount(int bucket) {
+			return this.buckets.get(bucket);
+		}
+		
+		public long getTotalCount() {
+			long total = 0;
+			
+			for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+				total += this.buckets.get(i);
+			}
+			
+			return total;
+		}
+		
+		/** Upper bound in microseconds of the bucket containing the given percentile, 0 if empty **/
+		public long getPercentileMicros(double percentile) {
+			long total = this.getTotalCount();
+			
+			if (total == 0) {
+				return 0;
+			}
+			
+			long threshold = (long)Math.ceil(total * percentile);
+			long accumulated = 0;
+			
+			for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+				accumulated += this.buckets.get(i);
+				
+				if (accumulated >= threshold) {
+					return getBucketBoundMicros(i);
+				}
+			}
+			
+			return getBucketBoundMicros(HISTOGRAM_BUCKETS - 1);
+		}
+		
+		private void reset() {
+			for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+				this.buckets.set(i, 0L);
+			}
+		}
+	}
+}
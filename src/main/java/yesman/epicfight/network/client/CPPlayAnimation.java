@@ -5,8 +5,10 @@ import java.util.function.Supplier;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.network.NetworkEvent;
+import yesman.epicfight.api.animation.types.DynamicAnimation;
 import yesman.epicfight.api.animation.types.StaticAnimation;
 import yesman.epicfight.network.EpicFightNetworkManager;
+import yesman.epicfight.network.server.SPAnimationPredictionAck;
 import yesman.epicfight.network.server.SPPlayAnimation;
 import yesman.epicfight.world.capabilities.EpicFightCapabilities;
 import yesman.epicfight.world.capabilities.entitypatch.player.ServerPlayerPatch;
@@ -17,12 +19,19 @@ public class CPPlayAnimation {
 	private float modifyTime;
 	private boolean isClientSideAnimation;
 	private boolean resendToSender;
+	private int predictionSequence;
 	
 	public CPPlayAnimation() {
 		this.animationId = 0;
 		this.modifyTime = 0;
 		this.resendToSender = false;
 	}
+	
+	/** An animation the client already played locally. The server answers with {@link SPAnimationPredictionAck} instead of resending it **/
+	public CPPlayAnimation(StaticAnimation animation, float modifyTime, int predictionSequence) {
+		this(animation.getNamespaceId(), animation.getId(), modifyTime, false, false);
+		this.predictionSequence = predictionSequence;
+	}
 
 	public CPPlayAnimation(StaticAnimation animation, float modifyTime, boolean clinetOnly, boolean resendToSender) {
 		this(animation.getNamespaceId(), animation.getId(), modifyTime, clinetOnly, resendToSender);
@@ -37,7 +46,10 @@ public class CPPlayAnimation {
 	}
 	
 	public static CPPlayAnimation fromBytes(FriendlyByteBuf buf) {
-		return new CPPlayAnimation(buf.readInt(), buf.readInt(), buf.readFloat(), buf.readBoolean(), buf.readBoolean());
+		CPPlayAnimation msg = new CPPlayAnimation(buf.readInt(), buf.readInt(), buf.readFloat(), buf.readBoolean(), buf.readBoolean());
+		msg.predictionSequence = buf.readVarInt();
+		
+		return msg;
 	}
 
 	public static void toBytes(CPPlayAnimation msg, FriendlyByteBuf buf) {
@@ -46,6 +58,7 @@ public class CPPlayAnimation {
 		buf.writeFloat(msg.modifyTime);
 		buf.writeBoolean(msg.isClientSideAnimation);
 		buf.writeBoolean(msg.resendToSender);
+		buf.writeVarInt(msg.predictionSequence);
 	}
 	
 	public static void handle(CPPlayAnimation msg, Supplier<NetworkEvent.Context> ctx) {
@@ -59,6 +72,13 @@ public class CPPlayAnimation {
 			
 			EpicFightNetworkManager.sendToAllPlayerTrackingThisEntity(new SPPlayAnimation(msg.namespaceId, msg.animationId, serverPlayer.getId(), msg.modifyTime), serverPlayer);
 			
+			if (msg.predictionSequence != 0) {
+				DynamicAnimation playing = playerpatch.getAnimator().getPlayerFor(null).getAnimation().getRealAnimation();
+				SPAnimationPredictionAck ack = playing instanceof StaticAnimation confirmed ? new SPAnimationPredictionAck(msg.predictionSequence, confirmed)
+																							: new SPAnimationPredictionAck(msg.predictionSequence, msg.namespaceId, msg.animationId);
+				EpicFightNetworkManager.sendToPlayer(ack, serverPlayer);
+			}
+			
 			if (msg.resendToSender) {
 				EpicFightNetworkManager.sendToPlayer(new SPPlayAnimation(msg.namespaceId, msg.animationId, serverPlayer.getId(), msg.modifyTime), serverPlayer);
 			}
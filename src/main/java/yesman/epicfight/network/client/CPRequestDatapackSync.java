@@ -0,0 +1,40 @@
+package yesman.epicfight.network.client;
+
+import java.util.function.Supplier;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+import yesman.epicfight.api.data.reloader.DatapackSyncCache;
+
+public class CPRequestDatapackSync {
+	private String hash;
+	
+	public CPRequestDatapackSync() {
+		this("");
+	}
+	
+	public CPRequestDatapackSync(String hash) {
+		this.hash = hash;
+	}
+	
+	public static CPRequestDatapackSync fromBytes(FriendlyByteBuf buf) {
+		return new CPRequestDatapackSync(buf.readUtf());
+	}
+	
+	public static void toBytes(CPRequestDatapackSync msg, FriendlyByteBuf buf) {
+		buf.writeUtf(msg.hash);
+	}
+	
+	public static void handle(CPRequestDatapackSync msg, Supplier<NetworkEvent.Context> ctx) {
+		ctx.get().enqueueWork(() -> {
+			ServerPlayer serverPlayer = ctx.get().getSender();
+			
+			if (serverPlayer != null) {
+				DatapackSyncCache.onResendRequest(serverPlayer, msg.hash);
+			}
+		});
+		
+		ctx.get().setPacketHandled(true);
+	}
+}
@@ -47,23 +47,25 @@ public class SPAddOrRemoveSkillData {
 	}
 	
 	@SuppressWarnings("deprecation")
-	public static void handle(SPAddOrRemoveSkillData msg, Supplier<NetworkEvent.Context> ctx) {
-		ctx.get().enqueueWork(() -> {
-			Minecraft mc = Minecraft.getInstance();
-			Entity entity = mc.level.getEntity(msg.entityId);
+	public void onArrive() {
+		Minecraft mc = Minecraft.getInstance();
+		Entity entity = mc.level.getEntity(this.entityId);
+		
+		if (entity != null && entity.getCapability(EpicFightCapabilities.CAPABILITY_ENTITY).orElse(null) instanceof PlayerPatch<?> playerpatch) {
+			SkillDataManager dataManager = playerpatch.getSkill(this.slot).getDataManager();
+			SkillDataKey<?> dataKey = SkillDataKey.findById(this.keyId);
 			
-			if (entity.getCapability(EpicFightCapabilities.CAPABILITY_ENTITY).orElse(null) instanceof PlayerPatch<?> playerpatch) {
-				SkillDataManager dataManager = playerpatch.getSkill(msg.slot).getDataManager();
-				SkillDataKey<?> dataKey = SkillDataKey.findById(msg.keyId);
-				
-				if (msg.type == AddRemove.ADD) {
-					dataManager.registerData(dataKey);
-					dataManager.setDataRawtype(dataKey, msg.value);
-				} else {
-					dataManager.removeData(dataKey);
-				}
+			if (this.type == AddRemove.ADD) {
+				dataManager.registerData(dataKey);
+				dataManager.setDataRawtype(dataKey, this.value);
+			} else {
+				dataManager.removeData(dataKey);
 			}
-		});
+		}
+	}
+	
+	public static void handle(SPAddOrRemoveSkillData msg, Supplier<NetworkEvent.Context> ctx) {
+		ctx.get().enqueueWork(msg::onArrive);
 		
 		ctx.get().setPacketHandled(true);
 	}
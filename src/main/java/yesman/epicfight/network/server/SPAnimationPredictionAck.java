@@ -0,0 +1,63 @@
+package yesman.epicfight.network.server;
+
+import java.util.function.Supplier;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+import yesman.epicfight.api.animation.types.StaticAnimation;
+import yesman.epicfight.api.client.animation.AnimationPredictor;
+import yesman.epicfight.client.world.capabilites.entitypatch.player.LocalPlayerPatch;
+import yesman.epicfight.main.EpicFightMod;
+import yesman.epicfight.world.capabilities.EpicFightCapabilities;
+
+public class SPAnimationPredictionAck {
+	private int sequence;
+	private int namespaceId;
+	private int animationId;
+	
+	public SPAnimationPredictionAck() {
+		this(0, 0, 0);
+	}
+	
+	public SPAnimationPredictionAck(int sequence, StaticAnimation confirmedAnimation) {
+		this(sequence, confirmedAnimation.getNamespaceId(), confirmedAnimation.getId());
+	}
+	
+	public SPAnimationPredictionAck(int sequence, int namespaceId, int animationId) {
+		this.sequence = sequence;
+		this.namespaceId = namespaceId;
+		this.animationId = animationId;
+	}
+	
+	public static SPAnimationPredictionAck fromBytes(FriendlyByteBuf buf) {
+		return new SPAnimationPredictionAck(buf.readVarInt(), buf.readInt(), buf.readInt());
+	}
+	
+	public static void toBytes(SPAnimationPredictionAck msg, FriendlyByteBuf buf) {
+		buf.writeVarInt(msg.sequence);
+		buf.writeInt(msg.namespaceId);
+		buf.writeInt(msg.animationId);
+	}
+	
+	public static void handle(SPAnimationPredictionAck msg, Supplier<NetworkEvent.Context> ctx) {
+		ctx.get().enqueueWork(() -> {
+			Minecraft mc = Minecraft.getInstance();
+			LocalPlayerPatch playerpatch = EpicFightCapabilities.getEntityPatch(mc.player, LocalPlayerPatch.class);
+			
+			if (playerpatch == null) {
+				return;
+			}
+			
+			AnimationPredictor.Prediction prediction = playerpatch.getAnimationPredictor().acknowledge(msg.sequence);
+			StaticAnimation confirmed = EpicFightMod.getInstance().animationManager.findAnimationById(msg.namespaceId, msg.animationId);
+			
+			// The server played something else: jump to the confirmed animation as far as it has progressed since the prediction
+			if (prediction != null && prediction.animation != confirmed) {
+				playerpatch.getClientAnimator().reconcileAnimation(confirmed, prediction.getElapsedTime());
+			}
+		});
+		
+		ctx.get().setPacketHandled(true);
+	}
+}
@@ -97,29 +97,31 @@ public class SPChangeLivingMotion {
 		}
 	}
 	
-	public static void handle(SPChangeLivingMotion msg, Supplier<NetworkEvent.Context> ctx) {
-		ctx.get().enqueueWork(() -> {
-			Minecraft mc = Minecraft.getInstance();
-			Entity entity = mc.player.level.getEntity(msg.entityId);
-			
-			if (entity != null) {
-				if (entity.getCapability(EpicFightCapabilities.CAPABILITY_ENTITY).orElse(null) instanceof LivingEntityPatch<?> entitypatch) {
-					ClientAnimator animator = entitypatch.getClientAnimator();
-					animator.resetLivingAnimations();
-					animator.offAllLayers();
-					animator.resetMotion();
-					animator.resetCompositeMotion();
-					
-					for (int i = 0; i < msg.count; i++) {
-						entitypatch.getClientAnimator().addLivingAnimation(msg.motionList.get(i), msg.animationList.get(i));
-					}
-					
-					if (msg.setChangesAsDefault) {
-						animator.setCurrentMotionsAsDefault();
-					}
+	public void onArrive() {
+		Minecraft mc = Minecraft.getInstance();
+		Entity entity = mc.player.level.getEntity(this.entityId);
+		
+		if (entity != null) {
+			if (entity.getCapability(EpicFightCapabilities.CAPABILITY_ENTITY).orElse(null) instanceof LivingEntityPatch<?> entitypatch) {
+				ClientAnimator animator = entitypatch.getClientAnimator();
+				animator.resetLivingAnimations();
+				animator.offAllLayers();
+				animator.resetMotion();
+				animator.resetCompositeMotion();
+				
+				for (int i = 0; i < this.count; i++) {
+					entitypatch.getClientAnimator().addLivingAnimation(this.motionList.get(i), this.animationList.get(i));
+				}
+				
+				if (this.setChangesAsDefault) {
+					animator.setCurrentMotionsAsDefault();
 				}
 			}
-		});
+		}
+	}
+	
+	public static void handle(SPChangeLivingMotion msg, Supplier<NetworkEvent.Context> ctx) {
+		ctx.get().enqueueWork(msg::onArrive);
 		
 		ctx.get().setPacketHandled(true);
 	}
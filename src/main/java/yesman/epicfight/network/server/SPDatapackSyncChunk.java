@@ -0,0 +1,46 @@
+package yesman.epicfight.network.server;
+
+import java.util.function.Supplier;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+import yesman.epicfight.api.data.reloader.DatapackSyncCache;
+
+public class SPDatapackSyncChunk {
+	private String hash;
+	private int index;
+	private int count;
+	private byte[] data;
+	
+	public SPDatapackSyncChunk() {
+		this("", 0, 0, new byte[0]);
+	}
+	
+	public SPDatapackSyncChunk(String hash, int index, int count, byte[] data) {
+		this.hash = hash;
+		this.index = index;
+		this.count = count;
+		this.data = data;
+	}
+	
+	public static SPDatapackSyncChunk fromBytes(FriendlyByteBuf buf) {
+		return new SPDatapackSyncChunk(buf.readUtf(), buf.readVarInt(), buf.readVarInt(), buf.readByteArray(DatapackSyncCache.CHUNK_SIZE));
+	}
+	
+	public static void toBytes(SPDatapackSyncChunk msg, FriendlyByteBuf buf) {
+		buf.writeUtf(msg.hash);
+		buf.writeVarInt(msg.index);
+		buf.writeVarInt(msg.count);
+		buf.writeByteArray(msg.data);
+	}
+	
+	public static void handle(SPDatapackSyncChunk msg, Supplier<NetworkEvent.Context> ctx) {
+		Runnable applyTask = DatapackSyncCache.receiveChunk(msg.hash, msg.index, msg.count, msg.data);
+		
+		if (applyTask != null) {
+			ctx.get().enqueueWork(applyTask);
+		}
+		
+		ctx.get().setPacketHandled(true);
+	}
+}
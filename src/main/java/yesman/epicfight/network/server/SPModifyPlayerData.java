@@ -71,37 +71,39 @@ public class SPModifyPlayerData {
 		msg.packetType.encoder.accept(msg, buf);
 	}
 	
-	public static void handle(SPModifyPlayerData msg, Supplier<NetworkEvent.Context> ctx) {
-		ctx.get().enqueueWork(() -> {
-			Minecraft mc = Minecraft.getInstance();
-			Entity entity = mc.player.level.getEntity(msg.entityId);
-			
-			if (entity != null) {
-				if (entity.getCapability(EpicFightCapabilities.CAPABILITY_ENTITY).orElse(null) instanceof PlayerPatch<?> playerpatch) {
-					switch (msg.packetType) {
-					case YAW_CORRECTION:
-						playerpatch.changeModelYRot((float)msg.data.get("yaw"));
-						break;
-					case MODE:
-						playerpatch.toMode((PlayerPatch.PlayerMode)msg.data.get("mode"), false);
-						break;
-					case LAST_ATTACK_RESULT:
-						playerpatch.setLastAttackSuccess((boolean)msg.data.get("lastAttackSuccess"));
-						break;
-					case SET_GRAPPLE_TARGET:
-						Entity grapplingTarget = mc.player.level.getEntity((int)msg.data.get("grapplingTarget"));
-						
-						if (grapplingTarget instanceof LivingEntity) {
-							playerpatch.setGrapplingTarget((LivingEntity)grapplingTarget);
-						} else {
-							playerpatch.setGrapplingTarget((LivingEntity)null);
-						}
-						
-						break;
+	public void onArrive() {
+		Minecraft mc = Minecraft.getInstance();
+		Entity entity = mc.player.level.getEntity(this.entityId);
+		
+		if (entity != null) {
+			if (entity.getCapability(EpicFightCapabilities.CAPABILITY_ENTITY).orElse(null) instanceof PlayerPatch<?> playerpatch) {
+				switch (this.packetType) {
+				case YAW_CORRECTION:
+					playerpatch.changeModelYRot((float)this.data.get("yaw"));
+					break;
+				case MODE:
+					playerpatch.toMode((PlayerPatch.PlayerMode)this.data.get("mode"), false);
+					break;
+				case LAST_ATTACK_RESULT:
+					playerpatch.setLastAttackSuccess((boolean)this.data.get("lastAttackSuccess"));
+					break;
+				case SET_GRAPPLE_TARGET:
+					Entity grapplingTarget = mc.player.level.getEntity((int)this.data.get("grapplingTarget"));
+					
+					if (grapplingTarget instanceof LivingEntity) {
+						playerpatch.setGrapplingTarget((LivingEntity)grapplingTarget);
+					} else {
+						playerpatch.setGrapplingTarget((LivingEntity)null);
 					}
+					
+					break;
 				}
 			}
-		});
+		}
+	}
+	
+	public static void handle(SPModifyPlayerData msg, Supplier<NetworkEvent.Context> ctx) {
+		ctx.get().enqueueWork(msg::onArrive);
 		
 		ctx.get().setPacketHandled(true);
 	}
@@ -30,35 +30,31 @@ public class SPSpawnData {
 	
 	public static SPSpawnData fromBytes(FriendlyByteBuf buf) {
 		SPSpawnData msg = new SPSpawnData(buf.readInt());
-
-		while (buf.isReadable()) {
-			msg.buffer.writeByte(buf.readByte());
-		}
+		msg.buffer.writeBytes(buf, buf.readableBytes());
 
 		return msg;
 	}
 	
 	public static void toBytes(SPSpawnData msg, FriendlyByteBuf buf) {
 		buf.writeInt(msg.entityId);
-
-		while (msg.buffer.isReadable()) {
-			buf.writeByte(msg.buffer.readByte());
-		}
+		buf.writeBytes(msg.buffer, msg.buffer.readerIndex(), msg.buffer.readableBytes());
 	}
 	
-	public static void handle(SPSpawnData msg, Supplier<NetworkEvent.Context> ctx) {
-		ctx.get().enqueueWork(() -> {
-			Minecraft mc = Minecraft.getInstance();
-			Entity entity = mc.player.level.getEntity(msg.entityId);
+	public void onArrive() {
+		Minecraft mc = Minecraft.getInstance();
+		Entity entity = mc.player.level.getEntity(this.entityId);
+		
+		if (entity != null) {
+			EntityPatch<?> entitypatch = entity.getCapability(EpicFightCapabilities.CAPABILITY_ENTITY).orElse(null);
 			
-			if (entity != null) {
-				EntityPatch<?> entitypatch = entity.getCapability(EpicFightCapabilities.CAPABILITY_ENTITY).orElse(null);
-				
-				if (entitypatch != null) {
-					entitypatch.processSpawnData(msg.getBuffer());
-				}
+			if (entitypatch != null) {
+				entitypatch.processSpawnData(this.getBuffer());
 			}
-		});
+		}
+	}
+	
+	public static void handle(SPSpawnData msg, Supplier<NetworkEvent.Context> ctx) {
+		ctx.get().enqueueWork(msg::onArrive);
 		
 		ctx.get().setPacketHandled(true);
 	}
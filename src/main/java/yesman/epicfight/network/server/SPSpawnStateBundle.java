@@ -0,0 +1,160 @@
+package yesman.epicfight.network.server;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.Entity;
+import net.minecraftforge.network.NetworkEvent;
+import yesman.epicfight.api.animation.types.StaticAnimation;
+import yesman.epicfight.api.client.animation.ClientAnimator;
+import yesman.epicfight.main.EpicFightMod;
+import yesman.epicfight.world.capabilities.EpicFightCapabilities;
+import yesman.epicfight.world.capabilities.entitypatch.LivingEntityPatch;
+
+/**
+ * Carries the spawn state of an entity a player started tracking in a single message.
+ * Entries are applied in the order they were queued.
+ */
+public class SPSpawnStateBundle {
+	private static final List<EntryType<?>> ENTRY_TYPES = ImmutableList.of(
+		new EntryType<>(SPSpawnData.class, SPSpawnData::toBytes, SPSpawnData::fromBytes, SPSpawnData::onArrive),
+		new EntryType<>(SPChangeLivingMotion.class, SPChangeLivingMotion::toBytes, SPChangeLivingMotion::fromBytes, SPChangeLivingMotion::onArrive),
+		new EntryType<>(SPAddOrRemoveSkillData.class, SPAddOrRemoveSkillData::toBytes, SPAddOrRemoveSkillData::fromBytes, SPAddOrRemoveSkillData::onArrive),
+		new EntryType<>(SPModifyPlayerData.class, SPModifyPlayerData::toBytes, SPModifyPlayerData::fromBytes, SPModifyPlayerData::onArrive),
+		new EntryType<>(AnimationState.class, AnimationState::toBytes, AnimationState::fromBytes, AnimationState::onArrive)
+	);
+	
+	public static boolean canBundle(Object message) {
+		return ENTRY_TYPES.stream().anyMatch((entryType) -> entryType.messageClass == message.getClass());
+	}
+	
+	private final List<Object> entries = Lists.newArrayList();
+	
+	public SPSpawnStateBundle add(Object message) {
+		this.entries.add(message);
+		return this;
+	}
+	
+	public boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+	
+	public static SPSpawnStateBundle fromBytes(FriendlyByteBuf buf) {
+		SPSpawnStateBundle msg = new SPSpawnStateBundle();
+		int count = buf.readVarInt();
+		
+		for (int i = 0; i < count; i++) {
+			EntryType<?> entryType = ENTRY_TYPES.get(buf.readByte());
+			FriendlyByteBuf entryBuf = new FriendlyByteBuf(buf.readSlice(buf.readVarInt()));
+			msg.entries.add(entryType.decoder.apply(entryBuf));
+		}
+		
+		return msg;
+	}
+	
+	public static void toBytes(SPSpawnStateBundle msg, FriendlyByteBuf buf) {
+		buf.writeVarInt(msg.entries.size());
+		FriendlyByteBuf entryBuf = new FriendlyByteBuf(Unpooled.buffer());
+		
+		for (Object entry : msg.entries) {
+			EntryType<?> entryType = getEntryType(entry);
+			entryBuf.clear();
+			entryType.encode(entry, entryBuf);
+			
+			buf.writeByte(ENTRY_TYPES.indexOf(entryType));
+			buf.writeVarInt(entryBuf.readableBytes());
+			buf.writeBytes(entryBuf);
+		}
+		
+		entryBuf.release();
+	}
+	
+	public static void handle(SPSpawnStateBundle msg, Supplier<NetworkEvent.Context> ctx) {
+		ctx.get().enqueueWork(() -> {
+			for (Object entry : msg.entries) {
+				getEntryType(entry).apply(entry);
+			}
+		});
+		
+		ctx.get().setPacketHandled(true);
+	}
+	
+	private static EntryType<?> getEntryType(Object entry) {
+		for (EntryType<?> entryType : ENTRY_TYPES) {
+			if (entryType.messageClass == entry.getClass()) {
+				return entryType;
+			}
+		}
+		
+		throw new IllegalArgumentException("Can't bundle " + entry.getClass() + " into spawn state");
+	}
+	
+	private static class EntryType<T> {
+		final Class<T> messageClass;
+		final BiConsumer<T, FriendlyByteBuf> encoder;
+		final Function<FriendlyByteBuf, T> decoder;
+		final Consumer<T> handler;
+		
+		EntryType(Class<T> messageClass, BiConsumer<T, FriendlyByteBuf> encoder, Function<FriendlyByteBuf, T> decoder, Consumer<T> handler) {
+			this.messageClass = messageClass;
+			this.encoder = encoder;
+			this.decoder = decoder;
+			this.handler = handler;
+		}
+		
+		void encode(Object message, FriendlyByteBuf buf) {
+			this.encoder.accept(this.messageClass.cast(message), buf);
+		}
+		
+		void apply(Object message) {
+			this.handler.accept(this.messageClass.cast(message));
+		}
+	}
+	
+	/** The action animation an entity is playing at the moment it starts being tracked **/
+	public static class AnimationState {
+		private final int entityId;
+		private final StaticAnimation animation;
+		private final float elapsedTime;
+		
+		public AnimationState(int entityId, StaticAnimation animation, float elapsedTime) {
+			this.entityId = entityId;
+			this.animation = animation;
+			this.elapsedTime = elapsedTime;
+		}
+		
+		public static AnimationState fromBytes(FriendlyByteBuf buf) {
+			int entityId = buf.readInt();
+			StaticAnimation animation = EpicFightMod.getInstance().animationManager.findAnimationById(buf.readInt(), buf.readInt());
+			
+			return new AnimationState(entityId, animation, buf.readFloat());
+		}
+		
+		public static void toBytes(AnimationState msg, FriendlyByteBuf buf) {
+			buf.writeInt(msg.entityId);
+			buf.writeInt(msg.animation.getNamespaceId());
+			buf.writeInt(msg.animation.getId());
+			buf.writeFloat(msg.elapsedTime);
+		}
+		
+		public void onArrive() {
+			Minecraft mc = Minecraft.getInstance();
+			Entity entity = mc.player.level.getEntity(this.entityId);
+			LivingEntityPatch<?> entitypatch = EpicFightCapabilities.getEntityPatch(entity, LivingEntityPatch.class);
+			
+			//Composite layer animations are replayed on their own layer
+			if (entitypatch != null && entitypatch.getAnimator() instanceof ClientAnimator clientAnimator) {
+				clientAnimator.reconcileAnimation(this.animation, this.elapsedTime);
+			}
+		}
+	}
+}
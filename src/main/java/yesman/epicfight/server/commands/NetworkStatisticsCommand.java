@@ -0,0 +1,82 @@
+package yesman.epicfight.server.commands;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.TranslatableComponent;
+import net.minecraftforge.fml.loading.FMLPaths;
+import yesman.epicfight.main.EpicFightMod;
+import yesman.epicfight.network.NetworkStatistics;
+
+public class NetworkStatisticsCommand {
+	private static final SimpleCommandExceptionType ERROR_EXPORT_FAILED = new SimpleCommandExceptionType(new TranslatableComponent("commands.epicfight.netstats.export.failed"));
+	private static final int MAX_LINES = 10;
+	
+	public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+		LiteralArgumentBuilder<CommandSourceStack> builder = Commands.literal("netstats").requires((commandSourceStack) -> commandSourceStack.hasPermission(2))
+			.executes((commandContext) -> {
+				return showStatistics(commandContext.getSource());
+			})
+			.then(Commands.literal("reset")
+			.executes((commandContext) -> {
+				return resetStatistics(commandContext.getSource());
+			}))
+			.then(Commands.literal("export")
+			.executes((commandContext) -> {
+				return exportStatistics(commandContext.getSource());
+			}));
+		
+		dispatcher.register(Commands.literal("epicfight").then(builder));
+	}
+	
+	public static int showStatistics(CommandSourceStack commandSourceStack) {
+		List<NetworkStatistics.Entry> entries = NetworkStatistics.getActiveEntries();
+		
+		if (entries.isEmpty()) {
+			commandSourceStack.sendSuccess(new TranslatableComponent("commands.epicfight.netstats.empty"), false);
+			return 0;
+		}
+		
+		commandSourceStack.sendSuccess(new TranslatableComponent("commands.epicfight.netstats.header", Math.min(entries.size(), MAX_LINES), entries.size()), false);
+		
+		for (NetworkStatistics.Entry entry : entries.subList(0, Math.min(entries.size(), MAX_LINES))) {
+			commandSourceStack.sendSuccess(new TranslatableComponent("commands.epicfight.netstats.entry", entry.getName(),
+					entry.getEncodedCount(), entry.getEncodedBytes(), entry.getDecodedCount(), entry.getDecodedBytes(),
+					entry.getEncodeLatency().getPercentileMicros(0.99D), entry.getDecodeLatency().getPercentileMicros(0.99D), entry.getHandleLatency().getPercentileMicros(0.99D)), false);
+		}
+		
+		return entries.size();
+	}
+	
+	public static int resetStatistics(CommandSourceStack commandSourceStack) {
+		NetworkStatistics.reset();
+		commandSourceStack.sendSuccess(new TranslatableComponent("commands.epicfight.netstats.reset.success"), true);
+		
+		return 1;
+	}
+	
+	public static int exportStatistics(CommandSourceStack commandSourceStack) throws CommandSyntaxException {
+		Path path = FMLPaths.GAMEDIR.get().resolve(EpicFightMod.MODID).resolve("netstats-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".csv");
+		
+		try {
+			NetworkStatistics.exportCsv(path);
+		} catch (IOException e) {
+			EpicFightMod.LOGGER.error("Failed to export network statistics to " + path, e);
+			throw ERROR_EXPORT_FAILED.create();
+		}
+		
+		commandSourceStack.sendSuccess(new TranslatableComponent("commands.epicfight.netstats.export.success", path.toString()), false);
+		
+		return 1;
+	}
+}
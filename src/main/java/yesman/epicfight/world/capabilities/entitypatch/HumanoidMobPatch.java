@@ -69,7 +69,13 @@ public abstract class HumanoidMobPatch<T extends PathfinderMob> extends MobPatch
 	
 	@Override
 	public void onStartTracking(ServerPlayer trackingPlayer) {
-		this.modifyLivingMotionByCurrentItem();
+		this.updateLivingMotionByCurrentItem();
+		
+		SPChangeLivingMotion msg = new SPChangeLivingMotion(this.original.getId());
+		msg.putEntries(this.getAnimator().getLivingAnimationEntrySet());
+		EpicFightNetworkManager.queueSpawnState(msg, trackingPlayer);
+		
+		super.onStartTracking(trackingPlayer);
 	}
 	
 	protected void setWeaponMotions() {
@@ -180,6 +186,14 @@ public abstract class HumanoidMobPatch<T extends PathfinderMob> extends MobPatch
 	}
 	
 	public void modifyLivingMotionByCurrentItem() {
+		this.updateLivingMotionByCurrentItem();
+		
+		SPChangeLivingMotion msg = new SPChangeLivingMotion(this.original.getId());
+		msg.putEntries(this.getAnimator().getLivingAnimationEntrySet());
+		EpicFightNetworkManager.sendToAllPlayerTrackingThisEntity(msg, this.original);
+	}
+	
+	protected void updateLivingMotionByCurrentItem() {
 		this.getAnimator().resetLivingAnimations();
 		
 		CapabilityItem mainhandCap = this.getHoldingItemCapability(InteractionHand.MAIN_HAND);
@@ -205,10 +219,6 @@ public abstract class HumanoidMobPatch<T extends PathfinderMob> extends MobPatch
 				}
 			}
 		}
-		
-		SPChangeLivingMotion msg = new SPChangeLivingMotion(this.original.getId());
-		msg.putEntries(this.getAnimator().getLivingAnimationEntrySet());
-		EpicFightNetworkManager.sendToAllPlayerTrackingThisEntity(msg, this.original);
 	}
 	
 	public boolean isArmed() {
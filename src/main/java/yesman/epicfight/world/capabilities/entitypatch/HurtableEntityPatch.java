@@ -2,18 +2,17 @@ package yesman.epicfight.world.capabilities.entitypatch;
 
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.ai.attributes.AttributeInstance;
-import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
 import yesman.epicfight.api.animation.types.EntityState;
 import yesman.epicfight.api.utils.math.OpenMatrix4f;
 import yesman.epicfight.world.damagesource.StunType;
-import yesman.epicfight.world.entity.ai.attribute.EpicFightAttributes;
+import yesman.epicfight.world.entity.ai.attribute.CombatAttributes;
 
 public abstract class HurtableEntityPatch<T extends LivingEntity> extends EntityPatch<T> {
 	protected float stunTimeReduction;
 	protected boolean cancelKnockback;
+	private CombatAttributes combatAttributes;
 	
 	@Override
 	protected void serverTick(LivingUpdateEvent event) {
@@ -33,8 +32,16 @@ public abstract class HurtableEntityPatch<T extends LivingEntity> extends Entity
 	
 	public abstract void applyStun(StunType stunType, float stunTime);
 	
+	public CombatAttributes getCombatAttributes() {
+		if (this.combatAttributes == null) {
+			this.combatAttributes = new CombatAttributes(this.original);
+		}
+		
+		return this.combatAttributes;
+	}
+	
 	public float getWeight() {
-		return (float)this.original.getAttributeValue(Attributes.MAX_HEALTH) * 2.0F;
+		return (float)this.getCombatAttributes().getMaxHealth() * 2.0F;
 	}
 	
 	public float getStunShield() {
@@ -54,8 +61,7 @@ public abstract class HurtableEntityPatch<T extends LivingEntity> extends Entity
 	}
 	
 	public float getStunArmor() {
-		AttributeInstance stunArmor = this.original.getAttribute(EpicFightAttributes.STUN_ARMOR.get());
-		return (float)(stunArmor == null ? 0 : stunArmor.getValue());
+		return (float)this.getCombatAttributes().getStunArmor();
 	}
 	
 	public EntityState getEntityState() {
@@ -76,7 +82,7 @@ public abstract class HurtableEntityPatch<T extends LivingEntity> extends Entity
             d1 = (Math.random() - Math.random()) * 0.01D;
         }
 		
-		power *= 1.0D - this.original.getAttributeValue(Attributes.KNOCKBACK_RESISTANCE);
+		power *= 1.0D - this.getCombatAttributes().getKnockbackResistance();
 		
 		if (power > 0.0D) {
 			this.original.hasImpulse = true;
@@ -7,6 +7,7 @@ import javax.annotation.Nullable;
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.syncher.EntityDataAccessor;
 import net.minecraft.network.syncher.EntityDataSerializers;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.util.Mth;
 import net.minecraft.world.InteractionHand;
@@ -31,12 +32,14 @@ import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.living.LivingDropsEvent;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
 import net.minecraftforge.event.entity.living.LivingFallEvent;
+import yesman.epicfight.api.animation.AnimationPlayer;
 import yesman.epicfight.api.animation.Animator;
 import yesman.epicfight.api.animation.LivingMotion;
 import yesman.epicfight.api.animation.LivingMotions;
 import yesman.epicfight.api.animation.ServerAnimator;
 import yesman.epicfight.api.animation.types.ActionAnimation;
 import yesman.epicfight.api.animation.types.AttackAnimation;
+import yesman.epicfight.api.animation.types.DynamicAnimation;
 import yesman.epicfight.api.animation.types.EntityState;
 import yesman.epicfight.api.animation.types.StaticAnimation;
 import yesman.epicfight.api.client.animation.ClientAnimator;
@@ -51,12 +54,14 @@ import yesman.epicfight.gameasset.Armatures;
 import yesman.epicfight.main.EpicFightMod;
 import yesman.epicfight.network.EpicFightNetworkManager;
 import yesman.epicfight.network.server.SPPlayAnimation;
+import yesman.epicfight.network.server.SPSpawnStateBundle;
 import yesman.epicfight.particle.HitParticleType;
 import yesman.epicfight.world.capabilities.EpicFightCapabilities;
 import yesman.epicfight.world.capabilities.item.CapabilityItem;
 import yesman.epicfight.world.damagesource.EpicFightDamageSource;
 import yesman.epicfight.world.damagesource.StunType;
 import yesman.epicfight.world.entity.ai.attribute.EpicFightAttributeSupplier;
+import yesman.epicfight.world.entity.ai.attribute.CombatAttributes;
 import yesman.epicfight.world.entity.ai.attribute.EpicFightAttributes;
 import yesman.epicfight.world.entity.eventlistener.PlayerEventListener.EventType;
 import yesman.epicfight.world.entity.eventlistener.TargetIndicatorCheckEvent;
@@ -102,6 +107,17 @@ public abstract class LivingEntityPatch<T extends LivingEntity> extends Hurtable
 		this.initAttributes();
 	}
 	
+	@Override
+	public void onStartTracking(ServerPlayer trackingPlayer) {
+		AnimationPlayer animationPlayer = this.animator.getPlayerFor(null);
+		DynamicAnimation playing = animationPlayer.getAnimation();
+		
+		if (!animationPlayer.isEmpty() && !animationPlayer.isEnd() && playing.getRealAnimation() instanceof StaticAnimation animation) {
+			float elapsedTime = playing == animation ? animationPlayer.getElapsedTime() : 0.0F;
+			EpicFightNetworkManager.queueSpawnState(new SPSpawnStateBundle.AnimationState(this.original.getId(), animation, elapsedTime), trackingPlayer);
+		}
+	}
+	
 	@OnlyIn(Dist.CLIENT)
 	public abstract void initAnimator(ClientAnimator clientAnimator);
 	public abstract void updateMotion(boolean considerInaction);
@@ -285,14 +301,14 @@ public abstract class LivingEntityPatch<T extends LivingEntity> extends Hurtable
 	}
 	
 	public void setExecutionResistance(int value) {
-		int maxExecutionResistance = (int)this.original.getAttributeValue(EpicFightAttributes.MAX_EXECUTION_RESISTANCE.get());
+		int maxExecutionResistance = (int)this.getCombatAttributes().getMaxExecutionResistance();
 		value = Math.min(maxExecutionResistance, value);
 		this.original.getEntityData().set(EXECUTION_RESISTANCE, value);
 	}
 	
 	@Override
 	public float getWeight() {
-		return (float)this.original.getAttributeValue(EpicFightAttributes.WEIGHT.get());
+		return (float)this.getCombatAttributes().getWeight();
 	}
 	
 	public void rotateTo(float degree, float limit, boolean syncPrevRot) {
@@ -501,13 +517,17 @@ public abstract class LivingEntityPatch<T extends LivingEntity> extends Hurtable
 	}
 
 	public int getMaxStrikes(InteractionHand hand) {
-		return (int) (hand == InteractionHand.MAIN_HAND ? this.original.getAttributeValue(EpicFightAttributes.MAX_STRIKES.get()) : 
-			this.isOffhandItemValid() ? this.original.getAttributeValue(EpicFightAttributes.OFFHAND_MAX_STRIKES.get()) : this.original.getAttribute(EpicFightAttributes.MAX_STRIKES.get()).getBaseValue());
+		CombatAttributes combatAttributes = this.getCombatAttributes();
+		
+		return (int) (hand == InteractionHand.MAIN_HAND ? combatAttributes.getMaxStrikes(false) : 
+			this.isOffhandItemValid() ? combatAttributes.getMaxStrikes(true) : combatAttributes.getBaseMaxStrikes());
 	}
 	
 	public float getArmorNegation(InteractionHand hand) {
-		return (float) (hand == InteractionHand.MAIN_HAND ? this.original.getAttributeValue(EpicFightAttributes.ARMOR_NEGATION.get()) : 
-			this.isOffhandItemValid() ? this.original.getAttributeValue(EpicFightAttributes.OFFHAND_ARMOR_NEGATION.get()) : this.original.getAttribute(EpicFightAttributes.ARMOR_NEGATION.get()).getBaseValue());
+		CombatAttributes combatAttributes = this.getCombatAttributes();
+		
+		return (float) (hand == InteractionHand.MAIN_HAND ? combatAttributes.getArmorNegation(false) : 
+			this.isOffhandItemValid() ? combatAttributes.getArmorNegation(true) : combatAttributes.getBaseArmorNegation());
 	}
 	
 	public float getImpact(InteractionHand hand) {
@@ -515,14 +535,14 @@ public abstract class LivingEntityPatch<T extends LivingEntity> extends Hurtable
 		int i = 0;
 		
 		if (hand == InteractionHand.MAIN_HAND) {
-			impact = (float)this.original.getAttributeValue(EpicFightAttributes.IMPACT.get());
+			impact = (float)this.getCombatAttributes().getImpact(false);
 			i = EnchantmentHelper.getItemEnchantmentLevel(Enchantments.KNOCKBACK, this.getOriginal().getMainHandItem());
 		} else {
 			if (this.isOffhandItemValid()) {
-				impact = (float)this.original.getAttributeValue(EpicFightAttributes.OFFHAND_IMPACT.get());
+				impact = (float)this.getCombatAttributes().getImpact(true);
 				i = EnchantmentHelper.getItemEnchantmentLevel(Enchantments.KNOCKBACK, this.getOriginal().getOffhandItem());
 			} else {
-				impact = (float)this.original.getAttribute(EpicFightAttributes.IMPACT.get()).getBaseValue();
+				impact = (float)this.getCombatAttributes().getBaseImpact();
 			}
 		}
 		
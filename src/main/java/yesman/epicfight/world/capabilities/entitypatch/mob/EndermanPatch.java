@@ -77,8 +77,10 @@ public class EndermanPatch extends MobPatch<EnderMan> {
 	public void onStartTracking(ServerPlayer trackingPlayer) {
 		if (this.isRaging()) {
 			SPSpawnData packet = new SPSpawnData(this.original.getId());
-			EpicFightNetworkManager.sendToPlayer(packet, trackingPlayer);
+			EpicFightNetworkManager.queueSpawnState(packet, trackingPlayer);
 		}
+		
+		super.onStartTracking(trackingPlayer);
 	}
 	
 	@Override
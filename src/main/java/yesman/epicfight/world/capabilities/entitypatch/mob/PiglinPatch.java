@@ -60,7 +60,7 @@ public class PiglinPatch extends HumanoidMobPatch<Piglin> {
 	public void onStartTracking(ServerPlayer trackingPlayer) {
 		if (this.original.isBaby()) {
 			SPSpawnData packet = new SPSpawnData(this.original.getId());
-			EpicFightNetworkManager.sendToPlayer(packet, trackingPlayer);
+			EpicFightNetworkManager.queueSpawnState(packet, trackingPlayer);
 		}
 		
 		super.onStartTracking(trackingPlayer);
@@ -24,7 +24,7 @@ public class ZombiePatch<T extends PathfinderMob> extends HumanoidMobPatch<T> {
 	public void onStartTracking(ServerPlayer trackingPlayer) {
 		if (!this.getHoldingItemCapability(InteractionHand.MAIN_HAND).isEmpty()) {
 			SPSpawnData packet = new SPSpawnData(this.original.getId());
-			EpicFightNetworkManager.sendToPlayer(packet, trackingPlayer);
+			EpicFightNetworkManager.queueSpawnState(packet, trackingPlayer);
 		}
 		
 		super.onStartTracking(trackingPlayer);
@@ -83,15 +83,16 @@ public class ServerPlayerPatch extends PlayerPatch<ServerPlayer> {
 		for (SkillContainer container : this.getSkillCapability().skillContainers) {
 			for (SkillDataKey<?> key : container.getDataManager().keySet()) {
 				if (key.shouldSyncAllClients()) {
-					EpicFightNetworkManager.sendToPlayer(
+					EpicFightNetworkManager.queueSpawnState(
 							new SPAddOrRemoveSkillData(key, container.getSlot().universalOrdinal(), container.getDataManager().getDataValue(key), SPAddOrRemoveSkillData.AddRemove.ADD, this.original.getId()),
 							trackingPlayer);
 				}
 			}
 		}
 		
-		EpicFightNetworkManager.sendToPlayer(msg, trackingPlayer);
-		EpicFightNetworkManager.sendToPlayer(new SPModifyPlayerData(this.getOriginal().getId(), this.playerMode), trackingPlayer);
+		EpicFightNetworkManager.queueSpawnState(msg, trackingPlayer);
+		EpicFightNetworkManager.queueSpawnState(new SPModifyPlayerData(this.getOriginal().getId(), this.playerMode), trackingPlayer);
+		super.onStartTracking(trackingPlayer);
 	}
 	
 	@Override
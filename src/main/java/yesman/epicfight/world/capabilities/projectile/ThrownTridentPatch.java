@@ -43,7 +43,7 @@ public class ThrownTridentPatch extends ProjectilePatch<ThrownTrident> {
 			packet.getBuffer().writeInt(this.returnTick);
 			packet.getBuffer().writeInt(this.original.tickCount);
 			
-			EpicFightNetworkManager.sendToPlayer(packet, trackingPlayer);
+			EpicFightNetworkManager.queueSpawnState(packet, trackingPlayer);
 		}
 	}
 	
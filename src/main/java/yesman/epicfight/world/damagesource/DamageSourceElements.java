@@ -2,6 +2,9 @@ package yesman.epicfight.world.damagesource;
 
 import java.util.Set;
 
+import com.google.common.collect.Sets;
+
+import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.item.ItemStack;
 import yesman.epicfight.api.utils.math.ValueModifier;
 
@@ -13,4 +16,70 @@ public class DamageSourceElements {
 	StunType stunType = StunType.SHORT;
 	Set<SourceTag> sourceTag;
 	Set<ExtraDamageInstance> extraDamages;
+	
+	/** The sets are copied, handlers add tags to the source of a single hit **/
+	DamageSourceElements copy() {
+		DamageSourceElements copy = new DamageSourceElements();
+		this.copyTo(copy);
+		
+		return copy;
+	}
+	
+	void copyTo(DamageSourceElements copy) {
+		copy.damageModifier = this.damageModifier;
+		copy.hurtItem = this.hurtItem;
+		copy.impact = this.impact;
+		copy.armorNegation = this.armorNegation;
+		copy.stunType = this.stunType;
+		copy.sourceTag = this.sourceTag == null ? null : Sets.newHashSet(this.sourceTag);
+		copy.extraDamages = this.extraDamages == null ? null : Sets.newHashSet(this.extraDamages);
+	}
+	
+	static <T extends DamageSource> T copyFlags(DamageSource from, T to) {
+		if (from.isBypassArmor()) {
+			to.bypassArmor();
+		}
+		
+		if (from.isBypassInvul()) {
+			to.bypassInvul();
+		}
+		
+		if (from.isBypassMagic()) {
+			to.bypassMagic();
+		}
+		
+		if (from.isProjectile()) {
+			to.setProjectile();
+		}
+		
+		if (from.isExplosion()) {
+			to.setExplosion();
+		}
+		
+		if (from.isFire()) {
+			to.setIsFire();
+		}
+		
+		if (from.isMagic()) {
+			to.setMagic();
+		}
+		
+		if (from.isNoAggro()) {
+			to.setNoAggro();
+		}
+		
+		if (from.scalesWithDifficulty()) {
+			to.setScalesWithDifficulty();
+		}
+		
+		if (from.isFall()) {
+			to.setIsFall();
+		}
+		
+		if (from.isDamageHelmet()) {
+			to.damageHelmet();
+		}
+		
+		return to;
+	}
 }
\ No newline at end of file
@@ -101,6 +101,23 @@ public interface EpicFightDamageSource {
 		return (DamageSource)this;
 	}
 	
+	/**
+	 * A new source with the same elements, so attacks resolve a source once and give every hit its own copy.
+	 * The default copy is built from the getters, implementations override it to keep their own type
+	 */
+	default EpicFightDamageSource copy() {
+		DamageSource source = this.cast();
+		EpicFightDamageSource copy = source.getDirectEntity() != source.getEntity()
+				? new IndirectEpicFightDamageSource(source.getMsgId(), source.getEntity(), source.getDirectEntity(), this.getStunType())
+				: new EpicFightEntityDamageSource(source.getMsgId(), source.getEntity(), this.getAnimation());
+		
+		DamageSourceElements.copyFlags(source, copy.cast());
+		this.getDamageSourceElements().copyTo(copy.getDamageSourceElements());
+		copy.setInitialPosition(this.getInitialPosition());
+		
+		return copy;
+	}
+	
 	public EpicFightDamageSource setInitialPosition(Vec3 initialPosition);
 	public Vec3 getInitialPosition();
 	public boolean isBasicAttack();
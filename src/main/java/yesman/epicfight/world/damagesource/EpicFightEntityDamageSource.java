@@ -17,6 +17,19 @@ public class EpicFightEntityDamageSource extends EntityDamageSource implements E
 		this.damageSourceElements = new DamageSourceElements();
 	}
 	
+	@Override
+	public EpicFightDamageSource copy() {
+		EpicFightEntityDamageSource copy = DamageSourceElements.copyFlags(this, new EpicFightEntityDamageSource(this.msgId, this.getEntity(), this.animation));
+		copy.damageSourceElements = this.damageSourceElements.copy();
+		copy.initialPosition = this.initialPosition;
+		
+		if (this.isThorns()) {
+			copy.setThorns();
+		}
+		
+		return copy;
+	}
+	
 	@Override
 	public EpicFightDamageSource setInitialPosition(Vec3 initialPosition) {
 		this.initialPosition = initialPosition;
@@ -17,6 +17,15 @@ public class IndirectEpicFightDamageSource extends IndirectEntityDamageSource im
 		this.damageSourceElements.stunType = stunType;
 	}
 	
+	@Override
+	public EpicFightDamageSource copy() {
+		IndirectEpicFightDamageSource copy = DamageSourceElements.copyFlags(this, new IndirectEpicFightDamageSource(this.msgId, this.getEntity(), this.getDirectEntity(), this.getStunType()));
+		copy.damageSourceElements = this.damageSourceElements.copy();
+		copy.projectileInitialPosition = this.projectileInitialPosition;
+		
+		return copy;
+	}
+	
 	@Override
 	public EpicFightDamageSource setInitialPosition(Vec3 initialPosition) {
 		this.projectileInitialPosition = initialPosition;
@@ -0,0 +1,94 @@
+package yesman.epicfight.world.entity.ai.attribute;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeMap;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+
+/**
+ * Attribute instances read by stun, knockback and damage source resolution, looked up once per entity patch.
+ * The instances stay live, each recomputes its value only after its modifiers or base value changed, so the hit path
+ * skips the registry and attribute map lookups. Attack damage is left out, its instances are swapped on offhand attacks.
+ */
+public class CombatAttributes {
+	private final AttributeInstance maxHealth;
+	private final AttributeInstance knockbackResistance;
+	private final AttributeInstance weight;
+	private final AttributeInstance stunArmor;
+	private final AttributeInstance maxExecutionResistance;
+	private final AttributeInstance impact;
+	private final AttributeInstance offhandImpact;
+	private final AttributeInstance armorNegation;
+	private final AttributeInstance offhandArmorNegation;
+	private final AttributeInstance maxStrikes;
+	private final AttributeInstance offhandMaxStrikes;
+	
+	public CombatAttributes(LivingEntity entity) {
+		AttributeMap attributes = entity.getAttributes();
+		this.maxHealth = attributes.getInstance(Attributes.MAX_HEALTH);
+		this.knockbackResistance = attributes.getInstance(Attributes.KNOCKBACK_RESISTANCE);
+		this.weight = attributes.getInstance(EpicFightAttributes.WEIGHT.get());
+		this.stunArmor = attributes.getInstance(EpicFightAttributes.STUN_ARMOR.get());
+		this.maxExecutionResistance = attributes.getInstance(EpicFightAttributes.MAX_EXECUTION_RESISTANCE.get());
+		this.impact = attributes.getInstance(EpicFightAttributes.IMPACT.get());
+		this.offhandImpact = attributes.getInstance(EpicFightAttributes.OFFHAND_IMPACT.get());
+		this.armorNegation = attributes.getInstance(EpicFightAttributes.ARMOR_NEGATION.get());
+		this.offhandArmorNegation = attributes.getInstance(EpicFightAttributes.OFFHAND_ARMOR_NEGATION.get());
+		this.maxStrikes = attributes.getInstance(EpicFightAttributes.MAX_STRIKES.get());
+		this.offhandMaxStrikes = attributes.getInstance(EpicFightAttributes.OFFHAND_MAX_STRIKES.get());
+	}
+	
+	public double getMaxHealth() {
+		return valueOf(this.maxHealth);
+	}
+	
+	public double getKnockbackResistance() {
+		return valueOf(this.knockbackResistance);
+	}
+	
+	public double getWeight() {
+		return valueOf(this.weight);
+	}
+	
+	public double getStunArmor() {
+		return valueOf(this.stunArmor);
+	}
+	
+	public double getMaxExecutionResistance() {
+		return valueOf(this.maxExecutionResistance);
+	}
+	
+	public double getImpact(boolean offhand) {
+		return valueOf(offhand ? this.offhandImpact : this.impact);
+	}
+	
+	public double getBaseImpact() {
+		return baseValueOf(this.impact);
+	}
+	
+	public double getArmorNegation(boolean offhand) {
+		return valueOf(offhand ? this.offhandArmorNegation : this.armorNegation);
+	}
+	
+	public double getBaseArmorNegation() {
+		return baseValueOf(this.armorNegation);
+	}
+	
+	public double getMaxStrikes(boolean offhand) {
+		return valueOf(offhand ? this.offhandMaxStrikes : this.maxStrikes);
+	}
+	
+	public double getBaseMaxStrikes() {
+		return baseValueOf(this.maxStrikes);
+	}
+	
+	private static double valueOf(@Nullable AttributeInstance instance) {
+		return instance == null ? 0.0D : instance.getValue();
+	}
+	
+	private static double baseValueOf(@Nullable AttributeInstance instance) {
+		return instance == null ? 0.0D : instance.getBaseValue();
+	}
+}
@@ -1,9 +1,11 @@
 package yesman.epicfight.world.entity.eventlistener;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.TreeMultimap;
@@ -14,12 +16,16 @@ import yesman.epicfight.world.capabilities.entitypatch.player.PlayerPatch;
 import yesman.epicfight.world.capabilities.entitypatch.player.ServerPlayerPatch;
 
 public class PlayerEventListener {
+	private static final EventTrigger<?>[] NO_TRIGGERS = new EventTrigger<?>[0];
+	
 	private Map<EventType<? extends PlayerEvent<?>>, TreeMultimap<Integer, EventTrigger<? extends PlayerEvent<?>>>> events;
+	private Map<EventType<? extends PlayerEvent<?>>, EventTrigger<?>[]> dispatchTables;
 	private PlayerPatch<?> playerpatch;
 	
 	public PlayerEventListener(PlayerPatch<?> playerpatch) {
 		this.playerpatch = playerpatch;
 		this.events = Maps.newHashMap();
+		this.dispatchTables = Maps.newHashMap();
 	}
 	
 	public <T extends PlayerEvent<?>> void addEventListener(EventType<T> eventType, UUID uuid, Consumer<T> function) {
@@ -36,6 +42,7 @@ public class PlayerEventListener {
 			this.removeListener(eventType, uuid, priority);
 			TreeMultimap<Integer, EventTrigger<? extends PlayerEvent<?>>> map = this.events.get(eventType);
 			map.put(priority, EventTrigger.makeEvent(uuid, function, priority));
+			this.dispatchTables.remove(eventType);
 		}
 	}
 	
@@ -56,31 +63,62 @@ public class PlayerEventListener {
 		if (map != null) {
 			priority = Math.max(priority, -1);
 			map.get(priority).removeIf((trigger) -> trigger.is(uuid));
+			this.dispatchTables.remove(eventType);
 		}
 	}
 	
 	@SuppressWarnings("unchecked")
 	public <T extends PlayerEvent<?>> boolean triggerEvents(EventType<T> eventType, T event) {
 		boolean cancel = false;
-		TreeMultimap<Integer, EventTrigger<? extends PlayerEvent<?>>> map = this.events.get(eventType);
+		boolean skipPriority = false;
+		int priority = Integer.MIN_VALUE;
 		
-		if (map != null) {
-			for (int i : map.keySet().descendingSet()) {
-				if (!cancel || i == -1) {
-					for (EventTrigger<?> eventTrigger : map.get(i)) {
-						if (eventType.shouldActive(this.playerpatch.isLogicalClient())) {
-							EventTrigger<T> castedTrigger = ((EventTrigger<T>)eventTrigger);
-							castedTrigger.trigger(event);
-							cancel |= event.isCanceled();
-						}
-					}
-				}
+		for (EventTrigger<?> eventTrigger : this.getDispatchTable(eventType)) {
+			//Cancellation is checked once per priority, triggers sharing the priority of the canceling one still run
+			if (eventTrigger.getPriority() != priority) {
+				priority = eventTrigger.getPriority();
+				skipPriority = cancel && priority != -1;
+			}
+			
+			if (!skipPriority) {
+				EventTrigger<T> castedTrigger = ((EventTrigger<T>)eventTrigger);
+				castedTrigger.trigger(event);
+				cancel |= event.isCanceled();
 			}
 		}
 		
 		return cancel;
 	}
 	
+	/**
+	 * Triggers of the event type flattened in descending priority, rebuilt after the listeners of the type change.
+	 * Listeners are registered only on their active side, so the table needs no side check, and listeners added or removed
+	 * by a trigger take effect from the next event.
+	 */
+	private EventTrigger<?>[] getDispatchTable(EventType<?> eventType) {
+		EventTrigger<?>[] dispatchTable = this.dispatchTables.get(eventType);
+		
+		if (dispatchTable == null) {
+			TreeMultimap<Integer, EventTrigger<? extends PlayerEvent<?>>> map = this.events.get(eventType);
+			
+			if (map == null || map.isEmpty()) {
+				dispatchTable = NO_TRIGGERS;
+			} else {
+				List<EventTrigger<?>> triggers = Lists.newArrayList();
+				
+				for (int i : map.keySet().descendingSet()) {
+					triggers.addAll(map.get(i));
+				}
+				
+				dispatchTable = triggers.toArray(NO_TRIGGERS);
+			}
+			
+			this.dispatchTables.put(eventType, dispatchTable);
+		}
+		
+		return dispatchTable;
+	}
+	
 	public static class EventType<T extends PlayerEvent<?>> {
 		public static final EventType<ActionEvent<LocalPlayerPatch>> ACTION_EVENT_CLIENT = new EventType<>(null);
 		public static final EventType<ActionEvent<ServerPlayerPatch>> ACTION_EVENT_SERVER = new EventType<>(null);
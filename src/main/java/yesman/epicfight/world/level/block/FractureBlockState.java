@@ -1,11 +1,6 @@
 package yesman.epicfight.world.level.block;
 
-import java.util.Map;
-
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
-import com.mojang.math.Quaternion;
-import com.mojang.math.Vector3f;
 import com.mojang.serialization.MapCodec;
 
 import net.minecraft.core.BlockPos;
@@ -19,56 +14,17 @@ import net.minecraft.world.phys.shapes.CollisionContext;
 import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraft.world.phys.shapes.VoxelShape;
 
+/**
+ * Stands in for a fractured block on the client. The fracture itself is animated by FractureDebrisRenderer,
+ * the original block state is kept in {@link FractureBlockStore}
+ */
 public class FractureBlockState extends BlockState {
-	private Vector3f translate;
-	private Quaternion rotation;
-	private double bouncing;
-	private int maxLifeTime;
-	private static final Map<Integer, BlockState> ORIGINAL_BLOCK_STATE_CACHE = Maps.newHashMap();
-	
-	public static void remove(BlockPos blockPos) {
-		ORIGINAL_BLOCK_STATE_CACHE.remove(blockPos.hashCode());
-	}
-	
-	public static void reset() {
-		ORIGINAL_BLOCK_STATE_CACHE.clear();
-	}
-	
 	public FractureBlockState(Block block, ImmutableMap<Property<?>, Comparable<?>> propertyMap, MapCodec<BlockState> mapCodec) {
 		super(block, propertyMap, mapCodec);
 	}
 	
-	public void setFractureInfo(BlockPos bp, BlockState originalState, Vector3f translate, Quaternion rotation, double bouncing, int maxLifeTime) {
-		ORIGINAL_BLOCK_STATE_CACHE.put(bp.hashCode(), originalState);
-		this.translate = translate;
-		this.rotation = rotation;
-		this.bouncing = bouncing;
-		this.maxLifeTime = maxLifeTime;
-	}
-	
-	public Vector3f getTranslate() {
-		return this.translate;
-	}
-	
-	public Quaternion getRotation() {
-		return this.rotation;
-	}
-	
-	public BlockState getOriginalBlockState(BlockPos blockPos) {
-		return ORIGINAL_BLOCK_STATE_CACHE.get(blockPos.hashCode());
-	}
-	
-	public double getBouncing() {
-		return this.bouncing;
-	}
-	
-	public int getLifeTime() {
-		return this.maxLifeTime;
-	}
-	
-	@Override
-	public boolean hasBlockEntity() {
-		return true;
+	public BlockState getOriginalBlockState(BlockGetter level, BlockPos blockPos) {
+		return FractureBlockStore.get(level, blockPos);
 	}
 	
 	@Override
@@ -98,7 +54,7 @@ public class FractureBlockState extends BlockState {
 	
 	@Override
 	public VoxelShape getCollisionShape(BlockGetter level, BlockPos blockPos) {
-		BlockState blockState = this.getOriginalBlockState(blockPos);
+		BlockState blockState = this.getOriginalBlockState(level, blockPos);
 		
 		if (blockState == null) {
 			return Shapes.empty();
@@ -109,7 +65,7 @@ public class FractureBlockState extends BlockState {
 	
 	@Override
 	public VoxelShape getCollisionShape(BlockGetter level, BlockPos blockPos, CollisionContext collisionContext) {
-		BlockState blockState = this.getOriginalBlockState(blockPos);
+		BlockState blockState = this.getOriginalBlockState(level, blockPos);
 		
 		if (blockState == null) {
 			return Shapes.empty();
@@ -0,0 +1,137 @@
+package yesman.epicfight.world.level.block;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+/**
+ * Original block states hidden behind {@link FractureBlockState}, stored per level and per chunk by packed positions.
+ * Entries are dropped when their chunk or level unloads, when the fracture is restored, and at the latest when their lifetime expires.
+ */
+public class FractureBlockStore {
+	private static final int EXPIRY_MARGIN = 20;
+	private static final Map<LevelAccessor, FractureBlockStore> STORES = new WeakHashMap<>();
+	
+	private final Long2ObjectMap<ChunkFractures> chunks = new Long2ObjectOpenHashMap<>();
+	
+	public static void put(Level level, BlockPos blockPos, BlockState originalBlockState, int lifeTime) {
+		FractureBlockStore store = STORES.computeIfAbsent(level, (key) -> new FractureBlockStore());
+		ChunkFractures chunkFractures = store.chunks.computeIfAbsent(getChunkKey(blockPos), (key) -> new ChunkFractures());
+		long expireTick = level.getGameTime() + lifeTime + EXPIRY_MARGIN;
+		
+		chunkFractures.originalStates.put(blockPos.asLong(), originalBlockState);
+		chunkFractures.expireTicks.put(blockPos.asLong(), expireTick);
+		chunkFractures.latestExpireTick = Math.max(chunkFractures.latestExpireTick, expireTick);
+	}
+	
+	/** Block getters other than a level or a level chunk are not resolved, they are never used to query collisions of fractures **/
+	@Nullable
+	public static BlockState get(BlockGetter blockGetter, BlockPos blockPos) {
+		LevelAccessor level = blockGetter instanceof LevelChunk levelChunk ? levelChunk.getLevel() : blockGetter instanceof LevelAccessor levelAccessor ? levelAccessor : null;
+		FractureBlockStore store = level == null ? null : STORES.get(level);
+		
+		if (store == null) {
+			return null;
+		}
+		
+		ChunkFractures chunkFractures = store.chunks.get(getChunkKey(blockPos));
+		
+		return chunkFractures == null ? null : chunkFractures.originalStates.get(blockPos.asLong());
+	}
+	
+	public static void remove(Level level, BlockPos blockPos) {
+		FractureBlockStore store = STORES.get(level);
+		
+		if (store == null) {
+			return;
+		}
+		
+		long chunkKey = getChunkKey(blockPos);
+		ChunkFractures chunkFractures = store.chunks.get(chunkKey);
+		
+		if (chunkFractures != null) {
+			chunkFractures.originalStates.remove(blockPos.asLong());
+			chunkFractures.expireTicks.remove(blockPos.asLong());
+			
+			if (chunkFractures.originalStates.isEmpty()) {
+				store.chunks.remove(chunkKey);
+			}
+		}
+	}
+	
+	public static void tick(Level level) {
+		FractureBlockStore store = STORES.get(level);
+		
+		if (store == null) {
+			return;
+		}
+		
+		long gameTime = level.getGameTime();
+		ObjectIterator<ChunkFractures> iterator = store.chunks.values().iterator();
+		
+		while (iterator.hasNext()) {
+			ChunkFractures chunkFractures = iterator.next();
+			
+			if (chunkFractures.latestExpireTick < gameTime) {
+				iterator.remove();
+				continue;
+			}
+			
+			ObjectIterator<Long2LongMap.Entry> expireIterator = chunkFractures.expireTicks.long2LongEntrySet().iterator();
+			
+			while (expireIterator.hasNext()) {
+				Long2LongMap.Entry entry = expireIterator.next();
+				
+				if (entry.getLongValue() < gameTime) {
+					chunkFractures.originalStates.remove(entry.getLongKey());
+					expireIterator.remove();
+				}
+			}
+			
+			if (chunkFractures.originalStates.isEmpty()) {
+				iterator.remove();
+			}
+		}
+	}
+	
+	public static void unloadChunk(LevelAccessor level, ChunkPos chunkPos) {
+		FractureBlockStore store = STORES.get(level);
+		
+		if (store != null) {
+			store.chunks.remove(chunkPos.toLong());
+		}
+	}
+	
+	public static void unloadLevel(LevelAccessor level) {
+		STORES.remove(level);
+	}
+	
+	public static void reset() {
+		STORES.clear();
+	}
+	
+	private static long getChunkKey(BlockPos blockPos) {
+		return ChunkPos.asLong(SectionPos.blockToSectionCoord(blockPos.getX()), SectionPos.blockToSectionCoord(blockPos.getZ()));
+	}
+	
+	private static class ChunkFractures {
+		final Long2ObjectMap<BlockState> originalStates = new Long2ObjectOpenHashMap<>();
+		final Long2LongMap expireTicks = new Long2LongOpenHashMap();
+		long latestExpireTick;
+	}
+}
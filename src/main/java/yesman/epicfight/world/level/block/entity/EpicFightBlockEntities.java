@@ -14,6 +14,8 @@ import yesman.epicfight.world.level.block.EpicFightBlocks;
 public class EpicFightBlockEntities {
 	public static final DeferredRegister<BlockEntityType<?>> BLOCK_ENTITIES = DeferredRegister.create(ForgeRegistries.BLOCK_ENTITIES, EpicFightMod.MODID);
 	
+	/** Kept registered so that addons and saved data referring to epicfight:fracture_block still resolve **/
+	@Deprecated
 	public static final RegistryObject<BlockEntityType<FractureBlockEntity>> FRACTURE = BLOCK_ENTITIES.register("fracture_block", () -> 
 		new UniversalBlockEntityType<FractureBlockEntity>(FractureBlockEntity::new, ImmutableSet.of(EpicFightBlocks.FRACTURE.get()), Util.fetchChoiceType(References.BLOCK_ENTITY, "fracture_block")));
 }
\ No newline at end of file
@@ -5,7 +5,6 @@ import java.util.Random;
 import com.mojang.math.Quaternion;
 import com.mojang.math.Vector3f;
 
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.Particle;
 import net.minecraft.client.particle.TerrainParticle;
@@ -15,8 +14,13 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
-import yesman.epicfight.world.level.block.FractureBlockState;
+import yesman.epicfight.client.particle.ParticleBudget;
+import yesman.epicfight.world.level.block.FractureBlockStore;
 
+/**
+ * No longer created by fractures, which are drawn by FractureDebrisRenderer. Kept with its registered type for addons
+ */
+@Deprecated
 public class FractureBlockEntity extends BlockEntity {
 	private Vector3f translate;
 	private Quaternion rotation;
@@ -29,16 +33,6 @@ public class FractureBlockEntity extends BlockEntity {
 		super(EpicFightBlockEntities.FRACTURE.get(), blockPos, originalBlockState);
 	}
 	
-	public FractureBlockEntity(BlockPos blockPos, BlockState blockState, FractureBlockState fractureBlockState) {
-		super(EpicFightBlockEntities.FRACTURE.get(), blockPos, blockState);
-		
-		this.originalBlockState = fractureBlockState.getOriginalBlockState(blockPos);
-		this.bouncing = fractureBlockState.getBouncing();
-		this.translate = fractureBlockState.getTranslate();
-		this.rotation = fractureBlockState.getRotation();
-		this.maxLifeTime = fractureBlockState.getLifeTime();
-	}
-	
 	public FractureBlockEntity(BlockPos blockPos, BlockState blockState, Vector3f translate, Quaternion rotation, double bouncing, int maxLifeTime) {
 		super(EpicFightBlockEntities.FRACTURE.get(), blockPos, blockState);
 		
@@ -79,16 +73,14 @@ public class FractureBlockEntity extends BlockEntity {
 			Particle blockParticle = new TerrainParticle((ClientLevel)level, blockPos.getX(), blockPos.getY(), blockPos.getZ(), 0, 0, 0, blockEntity.originalBlockState, blockPos);
 			blockParticle.setParticleSpeed((Math.random() - 0.5D) * 0.3D, Math.random() * 0.5D, (Math.random() - 0.5D) * 0.3D);
 			blockParticle.setLifetime(10 + new Random().nextInt(60));
-			
-			Minecraft mc = Minecraft.getInstance();
-			mc.particleEngine.add(blockParticle);
+			ParticleBudget.add(ParticleBudget.Category.DEBRIS, blockParticle, 0.2F);
 		}
 		
 		if (blockEntity.lifeTime++ > blockEntity.maxLifeTime) {
 			level.setBlock(blockPos, blockEntity.getOriginalBlockState(), 0);
 			level.removeBlockEntity(blockPos);
 			
-			FractureBlockState.remove(blockPos);
+			FractureBlockStore.remove(level, blockPos);
 		}
 	}
 }
\ No newline at end of file